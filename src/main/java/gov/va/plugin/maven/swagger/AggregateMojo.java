@@ -0,0 +1,131 @@
+package gov.va.plugin.maven.swagger;
+
+import gov.va.plugin.maven.swagger.BuildMetrics.ModuleMetrics;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import lombok.Setter;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+
+/**
+ * Maven Mojo that injects examples into the files of every project in the reactor in one pass, so
+ * mappers and examples are only loaded once for a multi-module build.
+ *
+ * <p>The configuration of this goal is applied to each project: default files and file sets are
+ * resolved against each project's output and base directories, and files that do not exist (e.g. in
+ * parent projects) are skipped. Each project gets its own class loader (for examples compiled in
+ * that project), while mappers and examples loaded from the plugin's class path are shared.
+ * Projects are processed in parallel, and examples that can not be resolved in any of them are
+ * reported together.
+ *
+ * <p>Run it once the projects have been compiled, e.g. <code>
+ * mvn compile swagger-examples:aggregate</code>.
+ */
+@Setter
+@Mojo(
+    name = "aggregate",
+    aggregator = true,
+    threadSafe = true,
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
+public class AggregateMojo extends SwaggerMojo {
+  @Parameter(defaultValue = "${reactorProjects}", required = true, readonly = true)
+  private List<MavenProject> reactorProjects;
+
+  /** Projects processed at the same time. Defaults to the number of available processors. */
+  @Parameter(property = "aggregateThreads", defaultValue = "0")
+  private int threads;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    validate();
+    ExampleInjector injector = getExampleInjector(getClasspath(), overrides());
+    DiffReport diff = diff();
+    BuildMetrics metrics = metrics();
+    ResolutionErrors errors = new ResolutionErrors();
+    injector.setErrors(errors);
+    int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+    ExecutorService executor =
+        Executors.newFixedThreadPool(Math.max(1, Math.min(poolSize, reactorProjects.size())));
+    try {
+      /* Files shared by several projects (e.g. absolute paths) are processed once */
+      Set<File> seen = new HashSet<>();
+      List<Future<ExampleInjector>> futures = new ArrayList<>();
+      for (MavenProject project : reactorProjects) {
+        Map<File, Output> outputs = outputs(project);
+        Map<Output, Output> files = new LinkedHashMap<>();
+        ModuleMetrics moduleMetrics = metrics(metrics, project);
+        Map<File, Format> projectFiles = files(project);
+        name(diff, project, projectFiles.keySet(), diffPrefix(project));
+        for (Map.Entry<File, Format> file : projectFiles.entrySet()) {
+          if (!file.getKey().exists()) {
+            getLog().debug("Skipping " + file.getKey() + ", file does not exist");
+            moduleMetrics.file(file.getKey()).skipped();
+          } else if (seen.add(file.getKey().getAbsoluteFile())) {
+            Output input = new Output(file.getKey(), file.getValue());
+            files.put(input, outputs.getOrDefault(file.getKey(), input));
+          }
+        }
+        ExampleInjector sibling = injector.sibling(getClasspath(project));
+        sibling.setMetrics(moduleMetrics);
+        sibling.setDiff(diff);
+        futures.add(executor.submit(() -> inject(sibling, files)));
+      }
+      Set<String> unused = null;
+      for (Future<ExampleInjector> future : futures) {
+        Set<String> unusedByProject = await(future).unusedOverrides();
+        if (unused == null) {
+          unused = unusedByProject;
+        } else {
+          unused.retainAll(unusedByProject);
+        }
+      }
+      errors.check();
+      writeDiff(diff);
+      reportUnusedOverrides(unused == null ? Set.of() : unused);
+    } finally {
+      executor.shutdownNow();
+      writeMetrics(metrics);
+    }
+  }
+
+  private static ExampleInjector await(Future<ExampleInjector> future)
+      throws MojoExecutionException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new MojoExecutionException("Interrupted while injecting examples", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof MojoExecutionException) {
+        throw (MojoExecutionException) e.getCause();
+      }
+      throw new MojoExecutionException("Failed to inject examples", e.getCause());
+    }
+  }
+
+  private static ExampleInjector inject(ExampleInjector injector, Map<Output, Output> files)
+      throws MojoExecutionException {
+    for (Map.Entry<Output, Output> file : files.entrySet()) {
+      injector.injectSwaggerExamples(
+          file.getKey().getFile(),
+          file.getKey().getFormat(),
+          file.getValue().getFile(),
+          file.getValue().getFormat());
+    }
+    return injector;
+  }
+}
@@ -0,0 +1,261 @@
+package gov.va.plugin.maven.swagger;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and histograms of an execution, written as an OpenMetrics text file that build
+ * observability tools can collect.
+ *
+ * <p>Every series is labeled by module and file. Each injector records through the view of its
+ * module, and each file through its own view, so the modules of the aggregate goal may record
+ * concurrently. Series are written sorted by family and labels.
+ */
+final class BuildMetrics {
+  /** Metrics that record and write nothing. */
+  static final BuildMetrics NONE = new BuildMetrics(false);
+
+  /** Upper bounds of the duration buckets, in seconds. */
+  private static final double[] BUCKETS = {0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10};
+
+  private static final String PREFIX = "swagger_examples_";
+
+  private final boolean enabled;
+
+  /** Counter values, by counter and labels. */
+  private final Map<Counter, Map<String, LongAdder>> counters = new ConcurrentHashMap<>();
+
+  /** Phase durations, by labels. */
+  private final Map<String, Histogram> durations = new ConcurrentHashMap<>();
+
+  BuildMetrics() {
+    this(true);
+  }
+
+  private BuildMetrics(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  private static String escape(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String format(double value) {
+    return value == (long) value ? Long.toString((long) value) : Double.toString(value);
+  }
+
+  private void increment(Counter counter, String labels, long amount) {
+    if (enabled) {
+      counters
+          .computeIfAbsent(counter, c -> new ConcurrentHashMap<>())
+          .computeIfAbsent(labels, l -> new LongAdder())
+          .add(amount);
+    }
+  }
+
+  /**
+   * Return the view of a module.
+   *
+   * @param module The name of the module (e.g. its artifact id).
+   * @param basedir The base directory that file labels are relative to (may be null).
+   * @return the view.
+   */
+  ModuleMetrics module(String module, File basedir) {
+    return new ModuleMetrics(module == null ? "" : module, basedir);
+  }
+
+  private void observe(String labels, long nanos) {
+    if (enabled) {
+      durations.computeIfAbsent(labels, l -> new Histogram()).observe(nanos);
+    }
+  }
+
+  /**
+   * Write every series to a file. Nothing is written if these metrics are disabled.
+   *
+   * @param file The file to write.
+   * @throws IOException if the file can not be written.
+   */
+  void write(File file) throws IOException {
+    if (!enabled) {
+      return;
+    }
+    Path path = file.getAbsoluteFile().toPath();
+    Files.createDirectories(path.getParent());
+    try (Writer writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+      for (Counter counter : Counter.values()) {
+        String family = PREFIX + counter.name;
+        writer.write("# TYPE " + family + " counter\n");
+        if (counter.unit != null) {
+          writer.write("# UNIT " + family + " " + counter.unit + "\n");
+        }
+        writer.write("# HELP " + family + " " + counter.help + "\n");
+        for (Map.Entry<String, LongAdder> series :
+            new TreeMap<>(counters.getOrDefault(counter, Map.of())).entrySet()) {
+          writer.write(family + "_total{" + series.getKey() + "} " + series.getValue() + "\n");
+        }
+      }
+      String family = PREFIX + "phase_duration_seconds";
+      writer.write("# TYPE " + family + " histogram\n");
+      writer.write("# UNIT " + family + " seconds\n");
+      writer.write("# HELP " + family + " Duration of each phase of processing a file.\n");
+      for (Map.Entry<String, Histogram> series : new TreeMap<>(durations).entrySet()) {
+        series.getValue().write(writer, family, series.getKey());
+      }
+      writer.write("# EOF\n");
+    }
+  }
+
+  /** Counter families, in the order they are written. */
+  private enum Counter {
+    FILES("files", null, "Files processed, or skipped as missing or unresolved."),
+    PLACEHOLDERS("placeholders", null, "Placeholders and targets found."),
+    RESOLVED("examples_resolved", null, "Examples injected, counting each site."),
+    CACHE_HITS("cache_hits", null, "Sites whose example was already converted."),
+    CACHE_MISSES("cache_misses", null, "Sites whose example was produced."),
+    READ("read_bytes", "bytes", "Bytes of documents read."),
+    WRITTEN("written_bytes", "bytes", "Bytes of documents written.");
+
+    private final String name;
+
+    private final String unit;
+
+    private final String help;
+
+    Counter(String name, String unit, String help) {
+      this.name = name;
+      this.unit = unit;
+      this.help = help;
+    }
+  }
+
+  /** Cumulative buckets, count and sum of durations. */
+  private static class Histogram {
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS.length);
+
+    private final LongAdder count = new LongAdder();
+
+    private final DoubleAdder sum = new DoubleAdder();
+
+    void observe(long nanos) {
+      double seconds = nanos / (double) TimeUnit.SECONDS.toNanos(1);
+      for (int i = 0; i < BUCKETS.length; i++) {
+        if (seconds <= BUCKETS[i]) {
+          buckets.incrementAndGet(i);
+        }
+      }
+      count.increment();
+      sum.add(seconds);
+    }
+
+    void write(Writer writer, String family, String labels) throws IOException {
+      for (int i = 0; i < BUCKETS.length; i++) {
+        writer.write(
+            family
+                + "_bucket{"
+                + labels
+                + ",le=\""
+                + format(BUCKETS[i])
+                + "\"} "
+                + buckets.get(i)
+                + "\n");
+      }
+      writer.write(family + "_bucket{" + labels + ",le=\"+Inf\"} " + count + "\n");
+      writer.write(family + "_count{" + labels + "} " + count + "\n");
+      writer.write(family + "_sum{" + labels + "} " + sum + "\n");
+    }
+  }
+
+  /** What happens to a single file. */
+  final class FileMetrics {
+    private final String labels;
+
+    private FileMetrics(String labels) {
+      this.labels = labels;
+    }
+
+    /** Count a site whose example was, or was not, already converted. */
+    void cache(boolean hit) {
+      increment(hit ? Counter.CACHE_HITS : Counter.CACHE_MISSES, labels, 1);
+    }
+
+    /** Count a placeholder or target. */
+    void placeholder() {
+      increment(Counter.PLACEHOLDERS, labels, 1);
+    }
+
+    /** Count the file as processed. */
+    void processed() {
+      increment(Counter.FILES, labels + ",result=\"processed\"", 1);
+    }
+
+    /** Count bytes read. */
+    void read(long bytes) {
+      increment(Counter.READ, labels, bytes);
+    }
+
+    /** Count an example injected at a site. */
+    void resolved() {
+      increment(Counter.RESOLVED, labels, 1);
+    }
+
+    /** Count the file as skipped. */
+    void skipped() {
+      increment(Counter.FILES, labels + ",result=\"skipped\"", 1);
+    }
+
+    /**
+     * Observe the duration of a phase.
+     *
+     * @param phase The phase (e.g. <code>read</code>).
+     * @param start When the phase started, from {@link System#nanoTime()}.
+     */
+    void time(String phase, long start) {
+      observe(labels + ",phase=\"" + escape(phase) + "\"", System.nanoTime() - start);
+    }
+
+    /** Count bytes written. */
+    void written(long bytes) {
+      increment(Counter.WRITTEN, labels, bytes);
+    }
+  }
+
+  /** The files of a single module. */
+  final class ModuleMetrics {
+    private final String module;
+
+    private final Path basedir;
+
+    private ModuleMetrics(String module, File basedir) {
+      this.module = module;
+      this.basedir = basedir == null ? null : basedir.getAbsoluteFile().toPath();
+    }
+
+    /**
+     * Return the view of a file, labeled by its path relative to the module's base directory.
+     *
+     * @param file The file.
+     * @return the view.
+     */
+    FileMetrics file(File file) {
+      Path path = file.getAbsoluteFile().toPath();
+      String name =
+          basedir != null && path.startsWith(basedir)
+              ? basedir.relativize(path).toString()
+              : path.toString();
+      return new FileMetrics(
+          "module=\"" + escape(module) + "\",file=\"" + escape(name.replace('\\', '/')) + "\"");
+    }
+  }
+}
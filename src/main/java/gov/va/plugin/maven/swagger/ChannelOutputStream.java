@@ -0,0 +1,90 @@
+package gov.va.plugin.maven.swagger;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Writes to a file channel through a direct buffer. Buffers are pooled, so they are allocated once
+ * per concurrent writer rather than once per file.
+ */
+class ChannelOutputStream extends OutputStream {
+  /** Bytes buffered before writing to the channel. */
+  static final int BUFFER_SIZE = 1 << 20;
+
+  /** Buffers that are not in use. */
+  private static final Queue<ByteBuffer> POOL = new ConcurrentLinkedQueue<>();
+
+  private final FileChannel channel;
+
+  private ByteBuffer buffer;
+
+  /**
+   * Create a stream that takes ownership of a channel.
+   *
+   * @param channel The channel to write to, which is closed with this stream.
+   */
+  ChannelOutputStream(FileChannel channel) {
+    this.channel = channel;
+    ByteBuffer pooled = POOL.poll();
+    this.buffer = pooled == null ? ByteBuffer.allocateDirect(BUFFER_SIZE) : pooled;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (buffer == null) {
+      return;
+    }
+    try {
+      try {
+        drain();
+      } finally {
+        channel.close();
+      }
+    } finally {
+      buffer.clear();
+      POOL.offer(buffer);
+      buffer = null;
+    }
+  }
+
+  /** Write the buffered bytes to the channel. */
+  private void drain() throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  @Override
+  public void flush() throws IOException {
+    drain();
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (!buffer.hasRemaining()) {
+      drain();
+    }
+    buffer.put((byte) b);
+  }
+
+  @Override
+  public void write(byte[] bytes, int offset, int length) throws IOException {
+    if (length > buffer.remaining()) {
+      drain();
+    }
+    if (length >= buffer.capacity()) {
+      ByteBuffer wrapped = ByteBuffer.wrap(bytes, offset, length);
+      while (wrapped.hasRemaining()) {
+        channel.write(wrapped);
+      }
+      return;
+    }
+    buffer.put(bytes, offset, length);
+  }
+}
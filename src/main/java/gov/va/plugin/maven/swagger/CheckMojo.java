@@ -0,0 +1,48 @@
+package gov.va.plugin.maven.swagger;
+
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * Maven Mojo that checks that every example resolves, without injecting anything. This is intended
+ * as a fast gate (e.g. for pull requests) and accepts the same configuration as the inject goal.
+ *
+ * <p>Each configured file is scanned for placeholders and each source, including overrides, is
+ * resolved to a public static method once. Overrides that no placeholder refers to are reported as
+ * warnings but not resolved. Classes are loaded without being initialized and no example is
+ * invoked, so examples that fail at runtime (e.g. return null) are not detected.
+ *
+ * <p>Every problem is reported before the build fails.
+ */
+@Mojo(
+    name = "check",
+    defaultPhase = LifecyclePhase.COMPILE,
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
+public class CheckMojo extends SwaggerMojo {
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    validate();
+    ExampleInjector injector = getExampleInjector(getClasspath(), overrides());
+    List<String> problems = new ArrayList<>();
+    for (Map.Entry<File, Format> file : files().entrySet()) {
+      problems.addAll(injector.check(file.getKey(), file.getValue()));
+    }
+    reportUnusedOverrides(injector.unusedOverrides());
+    if (problems.isEmpty()) {
+      getLog().info("All examples resolve");
+      return;
+    }
+    for (String problem : problems) {
+      getLog().error(problem);
+    }
+    throw new MojoFailureException(problems.size() + " example(s) do not resolve");
+  }
+}
@@ -0,0 +1,195 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.Getter;
+import org.apache.commons.io.FilenameUtils;
+
+/**
+ * Structural differences between injected documents and a baseline (e.g. the last published
+ * documents), compared while the injected tree is still in memory.
+ *
+ * <p>Each document is compared with the file of the same name in the baseline directory. Documents
+ * are named by the path given to {@link #name(File, String)} (e.g. relative to a file set's
+ * directory), so documents of the same file name in different directories have their own baselines
+ * and entries; other documents are named by their file name. Operations (<code>METHOD /path</code>
+ * ), examples (by JSON pointer) and component schemas (by name) are listed as added, removed or
+ * changed. Everything is sorted, so the report only changes when the documents do.
+ */
+class DiffReport {
+  private static final List<String> METHODS =
+      List.of("get", "put", "post", "delete", "options", "head", "patch", "trace");
+
+  private static final String EXAMPLE_KEY = "example";
+
+  /** The directory of baseline documents. */
+  @Getter private final File baseline;
+
+  /** Differences of each document, by name. */
+  private final SortedMap<String, ObjectNode> documents = new TreeMap<>();
+
+  private final ObjectMapper mapper = Format.JSON.getMapper();
+
+  /** Names of documents, by absolute path. */
+  private final Map<Path, String> names = new ConcurrentHashMap<>();
+
+  DiffReport(File baseline) {
+    this.baseline = baseline;
+  }
+
+  private static void examples(JsonNode node, String pointer, Map<String, JsonNode> examples) {
+    if (node.isObject()) {
+      for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+        Map.Entry<String, JsonNode> field = it.next();
+        String child = pointer + "/" + escape(field.getKey());
+        if (EXAMPLE_KEY.equals(field.getKey())) {
+          examples.put(child, field.getValue());
+        } else {
+          examples(field.getValue(), child, examples);
+        }
+      }
+    } else if (node.isArray()) {
+      for (int i = 0; i < node.size(); i++) {
+        examples(node.get(i), pointer + "/" + i, examples);
+      }
+    }
+  }
+
+  private static String escape(String name) {
+    return name.replace("~", "~0").replace("/", "~1");
+  }
+
+  private static Map<String, JsonNode> operations(JsonNode root) {
+    Map<String, JsonNode> operations = new TreeMap<>();
+    for (Iterator<Map.Entry<String, JsonNode>> it = root.path("paths").fields(); it.hasNext(); ) {
+      Map.Entry<String, JsonNode> path = it.next();
+      for (String method : METHODS) {
+        if (path.getValue().has(method)) {
+          operations.put(method.toUpperCase() + " " + path.getKey(), path.getValue().get(method));
+        }
+      }
+    }
+    return operations;
+  }
+
+  private static Map<String, JsonNode> schemas(JsonNode root) {
+    Map<String, JsonNode> schemas = new TreeMap<>();
+    root.at(JsonPointer.compile("/components/schemas"))
+        .fields()
+        .forEachRemaining(schema -> schemas.put(schema.getKey(), schema.getValue()));
+    return schemas;
+  }
+
+  private static Path key(File file) {
+    return file.getAbsoluteFile().toPath().normalize();
+  }
+
+  /**
+   * Compare an injected document with its baseline.
+   *
+   * @param output The file the document is written to, which determines its name.
+   * @param document The injected document.
+   * @return a summary of the differences, or empty if the document has no baseline.
+   * @throws IOException if the baseline can not be read.
+   */
+  Optional<String> compare(File output, JsonNode document) throws IOException {
+    String name = name(output);
+    File file = new File(baseline, name);
+    Format format = Format.lookup(FilenameUtils.getExtension(name));
+    if (!file.isFile() || format == null) {
+      return Optional.empty();
+    }
+    JsonNode previous = format.getMapper().readTree(file);
+    ObjectNode diff = mapper.createObjectNode();
+    diff.set("operations", diff(operations(previous), operations(document)));
+    Map<String, JsonNode> previousExamples = new TreeMap<>();
+    examples(previous, "", previousExamples);
+    Map<String, JsonNode> examples = new TreeMap<>();
+    examples(document, "", examples);
+    diff.set("examples", diff(previousExamples, examples));
+    diff.set("schemas", diff(schemas(previous), schemas(document)));
+    synchronized (documents) {
+      documents.put(name, diff);
+    }
+    return Optional.of(
+        String.format(
+            "%d operation(s), %d example(s) and %d schema(s) differ from %s",
+            count(diff.get("operations")),
+            count(diff.get("examples")),
+            count(diff.get("schemas")),
+            file));
+  }
+
+  private int count(JsonNode changes) {
+    return changes.get("added").size()
+        + changes.get("removed").size()
+        + changes.get("changed").size();
+  }
+
+  private ObjectNode diff(Map<String, JsonNode> previous, Map<String, JsonNode> current) {
+    Set<String> added = new TreeSet<>(current.keySet());
+    added.removeAll(previous.keySet());
+    Set<String> removed = new TreeSet<>(previous.keySet());
+    removed.removeAll(current.keySet());
+    Set<String> changed = new TreeSet<>();
+    for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+      JsonNode before = previous.get(entry.getKey());
+      if (before != null && !before.equals(entry.getValue())) {
+        changed.add(entry.getKey());
+      }
+    }
+    ObjectNode diff = mapper.createObjectNode();
+    diff.set("added", mapper.valueToTree(added));
+    diff.set("removed", mapper.valueToTree(removed));
+    diff.set("changed", mapper.valueToTree(changed));
+    return diff;
+  }
+
+  /**
+   * Return the name of a document.
+   *
+   * @param file The file of the document.
+   * @return the name given to the file, or else its file name.
+   */
+  String name(File file) {
+    return names.getOrDefault(key(file), file.getName());
+  }
+
+  /**
+   * Name a document, which is the path of its baseline and its key in the report.
+   *
+   * @param file The file of the document.
+   * @param name The name, with <code>/</code> separators (e.g. <code>v1/openapi.json</code>).
+   */
+  void name(File file, String name) {
+    names.put(key(file), name);
+  }
+
+  /**
+   * Write the report as compact JSON, keyed by document name.
+   *
+   * @param report The file to write.
+   * @throws IOException if the report can not be written.
+   */
+  void write(File report) throws IOException {
+    report.getAbsoluteFile().getParentFile().mkdirs();
+    synchronized (documents) {
+      mapper.writeValue(report, documents);
+    }
+  }
+}
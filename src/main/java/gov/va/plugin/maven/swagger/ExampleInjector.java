@@ -1,29 +1,74 @@
 package gov.va.plugin.maven.swagger;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLGenerator;
+import gov.va.plugin.maven.swagger.BuildMetrics.FileMetrics;
+import gov.va.plugin.maven.swagger.BuildMetrics.ModuleMetrics;
+import gov.va.plugin.maven.swagger.ExampleLimits.Policy;
+import gov.va.plugin.maven.swagger.ExampleProviders.Provided;
+import gov.va.plugin.maven.swagger.InjectionPlan.Target;
+import gov.va.plugin.maven.swagger.ResolutionErrors.Document;
+import gov.va.plugin.maven.swagger.SizeGuard.Size;
+import gov.va.plugin.maven.swagger.StreamingInjector.ExampleWriter;
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.StreamSupport;
-import lombok.AllArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.maven.plugin.MojoExecutionException;
 
-/** Utility for injecting examples into Swagger/OpenAPI artifacts. */
+/**
+ * Utility for injecting examples into Swagger/OpenAPI artifacts.
+ *
+ * <p>Mappers and resolved examples are cached, so a single instance should be reused for every file
+ * in an execution. Examples are resolved on demand: a source, including an override, is only loaded
+ * once a placeholder refers to it.
+ */
 @Slf4j
-@AllArgsConstructor
 public class ExampleInjector {
   /** Pattern for example placeholders (e.g. ${key:package.Class#staticMethod}). */
   private static final Pattern PATTERN = Pattern.compile("\\$\\{(.+):(.+)#(.+)\\}");
@@ -31,6 +76,21 @@ public class ExampleInjector {
   /** JSON/YAML key node for examples. */
   private static final String EXAMPLE_KEY = "example";
 
+  /**
+   * Class path directory of example snapshots. Each class with snapshotted examples has a JSON
+   * resource (e.g. <code>package.Class.json</code>) that maps method names to examples.
+   */
+  static final String SNAPSHOT_DIRECTORY = "META-INF/swagger-examples/";
+
+  /** Paths of a document, which are sorted after injection. */
+  private static final JsonPointer PATHS = JsonPointer.compile("/paths");
+
+  /** Schemas of a document, which are sorted after injection. */
+  private static final JsonPointer SCHEMAS = JsonPointer.compile("/components/schemas");
+
+  /** Approximate bytes of heap used by a parsed document for each byte of the file. */
+  private static final long TREE_OVERHEAD = 8;
+
   /** Class path to use for loading examples. */
   private ClassLoader classLoader;
 
@@ -41,10 +101,91 @@ public class ExampleInjector {
    *
    * <pre>Map.of( "key", "package.Class#staticMethod" )</pre>
    */
-  private Map<String, String> overrides;
+  private final Map<String, String> overrides;
+
+  /** Mappers for each format, created on first use. Shared with siblings. */
+  private final Map<Format, ObjectMapper> mappers;
+
+  /** Examples that do not depend on the class loader itself. Shared with siblings. */
+  private final Cache shared;
+
+  /** Examples whose class or snapshot was found by the class loader itself. */
+  private final Cache local = new Cache();
+
+  /**
+   * Sources of cached examples whose class was defined by the class loader itself, or whose
+   * snapshot was not found by its parent.
+   */
+  private final Set<String> localSources = new HashSet<>();
+
+  /** Keys of every placeholder seen so far, used to report unused overrides. */
+  private final Set<String> usedKeys = new HashSet<>();
+
+  /** Example snapshots keyed by class name (empty if the class has no snapshot). */
+  private final Map<String, Optional<JsonNode>> snapshots = new HashMap<>();
+
+  /** Results of resolving sources without invoking them, keyed by source (empty if resolved). */
+  private final Map<String, Optional<String>> checked = new HashMap<>();
+
+  /** Example providers of the class loader, loaded on first use. */
+  private ExampleProviders providers;
+
+  /** Examples serialized to temporary files while streaming, keyed by source. */
+  private final Map<String, File> spills = new HashMap<>();
+
+  /**
+   * Bytes of heap a parsed document may use. Larger files are streamed instead of being parsed into
+   * a tree. Unlimited by default, so files are only streamed if a budget is set.
+   */
+  @Setter private long memoryBudget = Long.MAX_VALUE;
+
+  /** Whether YAML is written in the style of {@link #minimalYamlMapper()}. */
+  @Setter private boolean minimalYaml;
+
+  /** Limits on the size of examples. */
+  @Setter private ExampleLimits limits = ExampleLimits.NONE;
+
+  /** How documents are read and written. */
+  @Setter private IoStrategy io = IoStrategy.STREAM;
+
+  /** Examples placed at JSON pointers from configuration. */
+  @Setter private InjectionPlan plan = InjectionPlan.EMPTY;
+
+  /** Differences from a baseline, compared after injection (may be null). Not shared. */
+  @Setter private DiffReport diff;
+
+  /**
+   * Examples that could not be resolved, collected across files and reported by the caller (may be
+   * null). Shared with siblings. If null, each file fails on its own errors.
+   */
+  @Setter private ResolutionErrors errors;
+
+  /** Counters and durations of the files of this injector's module. */
+  @Setter private ModuleMetrics metrics = BuildMetrics.NONE.module(null, null);
+
+  /**
+   * Create an injector.
+   *
+   * @param classLoader Class path to use for loading examples.
+   * @param overrides Examples to use as overrides (may be null).
+   */
+  public ExampleInjector(ClassLoader classLoader, Map<String, String> overrides) {
+    this(classLoader, overrides, new ConcurrentHashMap<>(), new Cache());
+  }
+
+  private ExampleInjector(
+      ClassLoader classLoader,
+      Map<String, String> overrides,
+      Map<Format, ObjectMapper> mappers,
+      Cache shared) {
+    this.classLoader = classLoader;
+    this.overrides = overrides;
+    this.mappers = mappers;
+    this.shared = shared;
+  }
 
   /**
-   * Attempt to determine a mapper from a given format and file.
+   * Attempt to determine the format of a given file.
    *
    * <p>If format is null, attempt to infer from the given file.
    *
@@ -52,18 +193,14 @@ public class ExampleInjector {
    *
    * @param format The format (may be null).
    * @param file The file to infer from.
-   * @return an optional {@link ObjectMapper}.
+   * @return an optional {@link Format}.
    * @throws IOException in the event of a file handling exception.
    */
-  static Optional<ObjectMapper> getMapper(Format format, File file) throws IOException {
+  static Optional<Format> getFormat(Format format, File file) throws IOException {
     if (format != null) {
-      return Optional.of(format.getMapper());
-    }
-    Format inferredFormat = Format.lookup(FilenameUtils.getExtension(file.getCanonicalPath()));
-    if (inferredFormat != null) {
-      return Optional.of(inferredFormat.getMapper());
+      return Optional.of(format);
     }
-    return Optional.empty();
+    return Optional.ofNullable(Format.lookup(FilenameUtils.getExtension(file.getCanonicalPath())));
   }
 
   /**
@@ -71,81 +208,733 @@ public class ExampleInjector {
    *
    * @param node The parent node.
    */
-  private static void sortObjectNode(ObjectNode node) {
+  private static void sortObjectNode(JsonNode node) {
+    if (!node.isObject()) {
+      return;
+    }
     Iterable<Map.Entry<String, JsonNode>> iterable = () -> node.fields();
     List<Map.Entry<String, JsonNode>> elements =
         StreamSupport.stream(iterable.spliterator(), false)
             .sorted((left, right) -> left.getKey().compareToIgnoreCase(right.getKey()))
             .collect(Collectors.toList());
-    node.removeAll();
+    ((ObjectNode) node).removeAll();
     for (Map.Entry<String, JsonNode> element : elements) {
-      node.set(element.getKey(), element.getValue());
+      ((ObjectNode) node).set(element.getKey(), element.getValue());
+    }
+  }
+
+  /**
+   * Return an example, given its key and source.
+   *
+   * <p>Sources that a) can not be invoked or b) return null will cause a {@link
+   * MojoExecutionException} to be thrown.
+   *
+   * <p>Examples are converted once per source and cached; callers receive the cached node and must
+   * copy it before modifying it. Examples with a snapshot on the class path are read from it
+   * instead of being invoked.
+   *
+   * @param key The example key.
+   * @param source The source (package.Class#staticMethod).
+   * @param mapper The mapper to convert the example with.
+   * @param recorder Metrics of the file.
+   * @return the example.
+   * @throws MojoExecutionException if a failure condition cited above occurs.
+   */
+  private JsonNode example(String key, String source, ObjectMapper mapper, FileMetrics recorder)
+      throws MojoExecutionException, IOException {
+    log.info("Injecting example [{}]", key);
+    JsonNode cached = cached(source);
+    recorder.cache(cached != null);
+    if (cached != null) {
+      log.debug("Reusing example [{}] from {}", key, source);
+      return cached;
+    }
+    Optional<JsonNode> snapshot = snapshot(source);
+    JsonNode exampleJsonNode =
+        limit(
+            key,
+            source,
+            snapshot.isPresent()
+                ? snapshot.get()
+                : mapper.readTree(mapper.writeValueAsBytes(invoke(key, source))));
+    cache(source).examples.put(source, exampleJsonNode);
+    return exampleJsonNode;
+  }
+
+  /**
+   * Measure a newly produced example, truncating it if it exceeds a per-example limit and the
+   * policy is to truncate. Nothing is measured if no limits are set.
+   *
+   * @param key The example key.
+   * @param source The example source.
+   * @param example The example.
+   * @return the example, or a truncated copy.
+   * @throws IOException if the example can not be measured.
+   */
+  private JsonNode limit(String key, String source, JsonNode example) throws IOException {
+    if (!limits.isEnabled()) {
+      return example;
     }
+    ObjectMapper jsonMapper = getMapper(Format.JSON);
+    Size size = SizeGuard.measure(example, jsonMapper);
+    if (limits.getPolicy() == Policy.TRUNCATE && limits.exceeds(size.getBytes(), size.getNodes())) {
+      JsonNode truncated = SizeGuard.truncate(example, limits.getTruncateArraysTo());
+      Size truncatedSize = SizeGuard.measure(truncated, jsonMapper);
+      log.warn("Truncated example [{}] from {} to {}", key, size, truncatedSize);
+      example = truncated;
+      size = truncatedSize;
+    }
+    cache(source).sizes.put(source, size);
+    return example;
   }
 
   /**
-   * Return an example, given a placeholder.
+   * Invoke the source of an example, or return it from its provider.
+   *
+   * @param key The example key.
+   * @param source The source (package.Class#staticMethod).
+   * @return the non-null example.
+   * @throws MojoExecutionException if the source can not be invoked or returns null.
+   */
+  private Object invoke(String key, String source) throws MojoExecutionException {
+    String example = "Example [" + key + "] ";
+    if (ExampleProviders.isProvided(source)) {
+      String providedKey = ExampleProviders.key(source);
+      Provided provided =
+          providers()
+              .get(providedKey)
+              .orElseThrow(
+                  () ->
+                      new MojoExecutionException(
+                          example + "no example provider has key: " + providedKey));
+      if (provided.getProvider().getClass().getClassLoader() == classLoader) {
+        localSources.add(source);
+      }
+      return provided.getExample();
+    }
+    String[] classAndMethod = StringUtils.split(source, "#");
+    Class<?> clazz;
+    try {
+      clazz = classLoader.loadClass(classAndMethod[0]);
+    } catch (ClassNotFoundException | LinkageError e) {
+      throw new MojoExecutionException(example + "class not found: " + classAndMethod[0], e);
+    }
+    Object value;
+    try {
+      Method method = clazz.getMethod(classAndMethod[1]);
+      if (!Modifier.isStatic(method.getModifiers())) {
+        throw new MojoExecutionException(example + "method is not static: " + source);
+      }
+      method.setAccessible(true);
+      value = method.invoke(null);
+    } catch (NoSuchMethodException e) {
+      throw new MojoExecutionException(example + "method not found: " + source, e);
+    } catch (InvocationTargetException e) {
+      throw new MojoExecutionException(
+          example + "failed: " + source + ": " + e.getCause(), e.getCause());
+    } catch (ReflectiveOperationException e) {
+      throw new MojoExecutionException(example + "can not be invoked: " + source, e);
+    }
+    if (value == null) {
+      throw new MojoExecutionException(example + "must not be null: " + source);
+    }
+    if (clazz.getClassLoader() == classLoader) {
+      localSources.add(source);
+    }
+    return value;
+  }
+
+  /**
+   * Return the snapshot of an example, if its class has one on the class path. Neither the class
+   * nor the example's dependencies are loaded.
+   *
+   * <p>Snapshots in a directory next to their compiled class (e.g. in the project's own output
+   * directory) are ignored and the class is invoked instead, as it may have been compiled again
+   * since the snapshot was taken. Snapshots are meant for the jars of example libraries.
+   *
+   * @param source The source (package.Class#staticMethod).
+   * @return an optional example.
+   * @throws IOException if the snapshot can not be read.
+   */
+  private Optional<JsonNode> snapshot(String source) throws IOException {
+    if (ExampleProviders.isProvided(source)) {
+      return Optional.empty();
+    }
+    String[] classAndMethod = StringUtils.split(source, "#");
+    String name = snapshotResource(classAndMethod[0]);
+    Optional<JsonNode> snapshot = snapshots.get(classAndMethod[0]);
+    if (snapshot == null) {
+      URL resource = classLoader.getResource(name);
+      snapshot =
+          resource == null || isCompiled(resource, name, classAndMethod[0])
+              ? Optional.empty()
+              : Optional.of(getMapper(Format.JSON).readTree(resource));
+      snapshots.put(classAndMethod[0], snapshot);
+    }
+    Optional<JsonNode> example = snapshot.map(node -> node.get(classAndMethod[1]));
+    if (example.isPresent()) {
+      log.debug("Using snapshot of {}", source);
+      ClassLoader parent = classLoader.getParent();
+      if (parent == null || parent.getResource(name) == null) {
+        localSources.add(source);
+      }
+    }
+    return example;
+  }
+
+  /**
+   * Return whether a snapshot is in a directory that also has its compiled class.
+   *
+   * @param snapshot The snapshot.
+   * @param name The resource name of the snapshot.
+   * @param className The name of its class.
+   * @return true if the class should be invoked instead.
+   */
+  private static boolean isCompiled(URL snapshot, String name, String className) {
+    if (!"file".equals(snapshot.getProtocol())) {
+      return false;
+    }
+    try {
+      File root = new File(snapshot.toURI());
+      for (int i = 0; i < StringUtils.countMatches(name, '/') + 1; i++) {
+        root = root.getParentFile();
+      }
+      if (!new File(root, className.replace('.', '/') + ".class").isFile()) {
+        return false;
+      }
+    } catch (URISyntaxException | IllegalArgumentException e) {
+      return false;
+    }
+    log.debug("Ignoring snapshot of {}, its class is compiled next to it", className);
+    return true;
+  }
+
+  /**
+   * Return the class path resource of the example snapshot for a class.
+   *
+   * @param className The class name.
+   * @return the resource name.
+   */
+  static String snapshotResource(String className) {
+    return SNAPSHOT_DIRECTORY + className + ".json";
+  }
+
+  /**
+   * Return the key and source (package.Class#staticMethod) of an example, given a placeholder.
    *
    * <p>Placeholders that don't match the pattern {@link ExampleInjector#PATTERN} will be ignored.
+   * The source is an override if the key has one, or else from a provider that has the key (see
+   * {@link ExampleProvider}), or else from the placeholder.
    *
-   * <p>Placeholders that match the expected pattern but a) can not be invoked or b) return null
-   * will cause a {@link MojoExecutionException} to be thrown.
+   * @param placeholder The placeholder.
+   * @return an optional array of key and source.
+   * @throws MojoExecutionException if the override for the key is not valid, or a provider fails.
+   */
+  private Optional<String[]> keyAndSource(String placeholder) throws MojoExecutionException {
+    return keyAndSource(placeholder, false);
+  }
+
+  /**
+   * Return the key and source of an example, given a placeholder.
    *
    * @param placeholder The placeholder.
-   * @return an optional example.
-   * @throws MojoExecutionException if a failure condition cited above occurs.
+   * @param checking Whether providers are only asked which keys they have, so that no example is
+   *     produced.
+   * @return an optional array of key and source.
+   * @throws MojoExecutionException if the override for the key is not valid, or a provider fails.
    */
-  private Optional<Object> example(String placeholder) throws MojoExecutionException {
+  private Optional<String[]> keyAndSource(String placeholder, boolean checking)
+      throws MojoExecutionException {
     Matcher matcher = PATTERN.matcher(placeholder);
-    if (matcher.find()) {
-      String key = matcher.group(1);
+    if (!matcher.find()) {
+      log.warn(
+          "Example [{}] does not match pattern of ${key:package.Class#staticMethod}; skipped",
+          placeholder);
+      return Optional.empty();
+    }
+    String key = matcher.group(1);
+    usedKeys.add(key);
+    /* Override the default example if instructed */
+    if (overrides != null && overrides.containsKey(key)) {
+      String source = overrides.get(key);
+      if (StringUtils.split(source, "#").length != 2) {
+        throw new MojoExecutionException(
+            "Override [" + key + "] does not match pattern of package.Class#staticMethod");
+      }
+      return Optional.of(new String[] {key, source});
+    }
+    if (checking) {
+      Optional<ExampleProvider> provider = providers().provider(key);
+      if (provider.isPresent()) {
+        return Optional.of(new String[] {key, ExampleProviders.source(provider.get(), key)});
+      }
+    } else {
+      Optional<Provided> provided = providers().get(key);
+      if (provided.isPresent()) {
+        return Optional.of(new String[] {key, provided.get().source()});
+      }
+    }
+    return Optional.of(new String[] {key, matcher.group(2) + "#" + matcher.group(3)});
+  }
+
+  /**
+   * Write an example to a generator, given a placeholder. Used when streaming.
+   *
+   * <p>Cached examples are written directly. Other examples are serialized to a temporary file
+   * once, which is then copied to each site without holding the example in memory.
+   *
+   * @param placeholder The placeholder.
+   * @param generator The generator to write to.
+   * @param recorder Metrics of the file.
+   * @return false if the placeholder was ignored.
+   * @throws MojoExecutionException if the example can not be resolved.
+   * @throws IOException if the example can not be written.
+   */
+  private boolean writeExample(
+      String placeholder, JsonGenerator generator, SizeGuard guard, FileMetrics recorder)
+      throws MojoExecutionException, IOException {
+    Optional<String[]> keyAndSource = keyAndSource(placeholder);
+    if (keyAndSource.isEmpty()) {
+      return false;
+    }
+    String key = keyAndSource.get()[0];
+    String source = keyAndSource.get()[1];
+    log.info("Injecting example [{}]", key);
+    recorder.placeholder();
+    JsonNode cached = cached(source);
+    recorder.cache(cached != null || spills.containsKey(source));
+    if (cached == null) {
+      Optional<JsonNode> snapshot = snapshot(source);
+      if (snapshot.isPresent()) {
+        cached = limit(key, source, snapshot.get());
+        cache(source).examples.put(source, cached);
+      }
+    }
+    if (cached != null) {
+      guard.record(key, source, size(source));
+      generator.writeTree(cached);
+      recorder.resolved();
+      return true;
+    }
+    ObjectMapper spillMapper = getMapper(Format.JSON);
+    File spill = spills.get(source);
+    if (spill == null) {
+      Object example = invoke(key, source);
+      spill = File.createTempFile("swagger-example", ".json");
+      spills.put(source, spill);
+      spillMapper.writeValue(spill, example);
+      spill = limit(key, source, spill);
+    }
+    guard.record(key, source, size(source));
+    try (JsonParser parser = spillMapper.getFactory().createParser(spill)) {
+      parser.nextToken();
+      generator.copyCurrentStructure(parser);
+    }
+    recorder.resolved();
+    return true;
+  }
+
+  /**
+   * Measure a newly spilled example, truncating it if it exceeds a per-example limit and the policy
+   * is to truncate. Nothing is measured if no limits are set.
+   *
+   * @param key The example key.
+   * @param source The example source.
+   * @param spill The example, written to a temporary file.
+   * @return the spill, or a truncated copy.
+   * @throws IOException if the example can not be measured.
+   */
+  private File limit(String key, String source, File spill) throws IOException {
+    if (!limits.isEnabled()) {
+      return spill;
+    }
+    JsonFactory factory = getMapper(Format.JSON).getFactory();
+    Size size = SizeGuard.measure(spill, factory);
+    if (limits.getPolicy() == Policy.TRUNCATE && limits.exceeds(size.getBytes(), size.getNodes())) {
+      File truncated = File.createTempFile("swagger-example", ".json");
+      spills.put(source, truncated);
+      try (JsonParser parser = factory.createParser(spill);
+          JsonGenerator generator = factory.createGenerator(truncated, JsonEncoding.UTF8)) {
+        parser.nextToken();
+        SizeGuard.copyTruncated(parser, generator, limits.getTruncateArraysTo());
+      }
+      FileUtils.deleteQuietly(spill);
+      Size truncatedSize = SizeGuard.measure(truncated, factory);
+      log.warn("Truncated example [{}] from {} to {}", key, size, truncatedSize);
+      spill = truncated;
+      size = truncatedSize;
+    }
+    cache(source).sizes.put(source, size);
+    return spill;
+  }
+
+  /**
+   * Check that every example placeholder in a file, and the source of every target, resolves
+   * without invoking any example or rewriting the file. Whether targets exist is not checked.
+   *
+   * <p>The file is read as a stream of tokens and each source is resolved once per injector.
+   * Placeholders that don't match the pattern {@link ExampleInjector#PATTERN} are ignored, as they
+   * are when injecting.
+   *
+   * <p>If format is null, attempt to infer the file format.
+   *
+   * @param file The file to check.
+   * @param format The format of the file.
+   * @return a description of each placeholder or target that does not resolve.
+   * @throws MojoExecutionException if the file can not be read.
+   */
+  public List<String> check(File file, Format format) throws MojoExecutionException {
+    List<String> problems = new ArrayList<>();
+    try (JsonParser parser = getMapper(format, file).getFactory().createParser(io.input(file))) {
+      log.info("Checking {}", file.getCanonicalPath());
+      for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+        if (token != JsonToken.FIELD_NAME || !EXAMPLE_KEY.equals(parser.getCurrentName())) {
+          continue;
+        }
+        if (parser.nextToken() != JsonToken.VALUE_STRING) {
+          /* Examples that are not placeholders are left as is, including their content */
+          parser.skipChildren();
+          continue;
+        }
+        Optional<String> problem = check(parser.getText());
+        if (problem.isPresent()) {
+          problems.add(
+              file.getName()
+                  + " "
+                  + parser.getParsingContext().pathAsPointer()
+                  + ": "
+                  + problem.get());
+        }
+      }
+      for (Target target : plan.getTargets()) {
+        Optional<String> problem = check(target.placeholder());
+        if (problem.isPresent()) {
+          problems.add(file.getName() + " " + target.getPointer() + ": " + problem.get());
+        }
+      }
+    } catch (JsonProcessingException e) {
+      throw new MojoExecutionException("Error processing JSON", e);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Error while processing file", e);
+    }
+    return problems;
+  }
+
+  /**
+   * Check that a placeholder resolves, without invoking its source or asking a provider for an
+   * example.
+   *
+   * @param placeholder The placeholder.
+   * @return a description of the problem, if the placeholder does not resolve.
+   */
+  private Optional<String> check(String placeholder) {
+    Optional<String[]> keyAndSource;
+    try {
+      keyAndSource = keyAndSource(placeholder, true);
+    } catch (MojoExecutionException e) {
+      return Optional.of(e.getMessage());
+    }
+    if (keyAndSource.isEmpty()) {
+      return Optional.empty();
+    }
+    return checkSource(keyAndSource.get()[0], keyAndSource.get()[1]);
+  }
+
+  /**
+   * Check that a source has a snapshot or refers to a public static method that returns a value.
+   * The class is loaded without being initialized and the method is not invoked.
+   *
+   * @param key The example key.
+   * @param source The source (package.Class#staticMethod).
+   * @return a description of the problem, if the source does not resolve.
+   */
+  private Optional<String> checkSource(String key, String source) {
+    return checked
+        .computeIfAbsent(source, this::resolveSource)
+        .map(problem -> "[" + key + "] " + problem);
+  }
+
+  private Optional<String> resolveSource(String source) {
+    if (ExampleProviders.isProvided(source)) {
       try {
-        Class<?> clazz;
-        Method method;
-        log.info("Injecting example [{}]", key);
-        /* Override the default example if instructed */
-        if (overrides != null && overrides.containsKey(key)) {
-          String[] classAndMethod = StringUtils.split(overrides.get(key), "#");
-          if (classAndMethod.length == 2) {
-            clazz = classLoader.loadClass(classAndMethod[0]);
-            method = clazz.getMethod(classAndMethod[1]);
-          } else {
-            throw new MojoExecutionException(
-                "Override [" + key + "] does not match pattern of package.Class#staticMethod]");
-          }
-        } else {
-          clazz = classLoader.loadClass(matcher.group(2));
-          method = clazz.getMethod(matcher.group(3));
+        String key = ExampleProviders.key(source);
+        return providers().provider(key).isPresent()
+            ? Optional.empty()
+            : Optional.of("No example provider has key: " + key);
+      } catch (MojoExecutionException e) {
+        return Optional.of(e.getMessage());
+      }
+    }
+    String[] classAndMethod = StringUtils.split(source, "#");
+    try {
+      if (snapshot(source).isPresent()) {
+        return Optional.empty();
+      }
+    } catch (IOException e) {
+      return Optional.of("Unreadable snapshot: " + snapshotResource(classAndMethod[0]));
+    }
+    try {
+      Method method =
+          Class.forName(classAndMethod[0], false, classLoader).getMethod(classAndMethod[1]);
+      if (!Modifier.isStatic(method.getModifiers())) {
+        return Optional.of("Method is not static: " + source);
+      }
+      if (method.getReturnType() == void.class) {
+        return Optional.of("Method does not return an example: " + source);
+      }
+      return Optional.empty();
+    } catch (ClassNotFoundException | LinkageError e) {
+      return Optional.of("Class not found: " + classAndMethod[0]);
+    } catch (NoSuchMethodException e) {
+      return Optional.of("Method not found: " + source);
+    }
+  }
+
+  /**
+   * Index the placeholders of a document, so each distinct placeholder is resolved once no matter
+   * how many times it appears.
+   *
+   * @param root The root of the document.
+   * @return the parents of each placeholder (placeholder:parents), in document order.
+   */
+  private static Map<String, List<ObjectNode>> placeholders(JsonNode root) {
+    Map<String, List<ObjectNode>> placeholders = new LinkedHashMap<>();
+    for (JsonNode parent : root.findParents(EXAMPLE_KEY)) {
+      if (parent.get(EXAMPLE_KEY).isTextual()) {
+        placeholders
+            .computeIfAbsent(parent.get(EXAMPLE_KEY).asText(), p -> new ArrayList<>())
+            .add((ObjectNode) parent);
+      }
+    }
+    return placeholders;
+  }
+
+  /**
+   * Inject examples into a document in place. Targets are applied first, and a placeholder that a
+   * target replaced is not resolved (as when streaming).
+   *
+   * <p>Every site of an example refers to the same cached node instead of a copy, so memory does
+   * not grow with the number of sites. Nodes of the document are only modified through {@link
+   * #writable}, which copies a shared example before anything inside it is changed.
+   *
+   * <p>Examples that can not be resolved are recorded at each of their sites, and the placeholders
+   * are left as they are.
+   *
+   * @param root The root of the document.
+   * @param name The name of the document, for warnings.
+   * @param mapper The mapper to use.
+   * @param guard The size guard of the document.
+   * @param recorder Metrics of the document.
+   * @param unresolved Errors of the document.
+   * @throws MojoExecutionException if a provider fails or an example exceeds a limit.
+   * @throws IOException if an example can not be converted.
+   */
+  private void inject(
+      JsonNode root,
+      String name,
+      ObjectMapper mapper,
+      SizeGuard guard,
+      FileMetrics recorder,
+      Document unresolved)
+      throws MojoExecutionException, IOException {
+    Map<String, List<ObjectNode>> placeholders = placeholders(root);
+    for (Map.Entry<String, List<ObjectNode>> placeholder : placeholders.entrySet()) {
+      if (PATTERN.matcher(placeholder.getKey()).find()) {
+        placeholder.getValue().forEach(parent -> recorder.placeholder());
+      }
+    }
+    prefetch(placeholders.keySet());
+    Set<JsonNode> injected = Collections.newSetFromMap(new IdentityHashMap<>());
+    List<Target> missing = new ArrayList<>();
+    for (Target target : plan.getTargets()) {
+      try {
+        if (!injectTarget(root, target, mapper, guard, injected, recorder)) {
+          missing.add(target);
+        }
+      } catch (MojoExecutionException e) {
+        unresolved.add(target.getPointer(), e.getMessage());
+      }
+    }
+    warnMissing(missing, name);
+    for (Map.Entry<String, List<ObjectNode>> placeholder : placeholders.entrySet()) {
+      placeholder
+          .getValue()
+          .removeIf(parent -> !placeholder.getKey().equals(parent.get(EXAMPLE_KEY).textValue()));
+      if (placeholder.getValue().isEmpty()) {
+        continue;
+      }
+      Optional<String[]> keyAndSource;
+      JsonNode example;
+      try {
+        keyAndSource = keyAndSource(placeholder.getKey());
+        if (keyAndSource.isEmpty()) {
+          continue;
+        }
+        example = example(keyAndSource.get()[0], keyAndSource.get()[1], mapper, recorder);
+      } catch (MojoExecutionException e) {
+        Set<JsonNode> parents = Collections.newSetFromMap(new IdentityHashMap<>());
+        parents.addAll(placeholder.getValue());
+        List<String> pointers = new ArrayList<>();
+        locate(root, "", parents, pointers);
+        for (String pointer : pointers) {
+          unresolved.add(pointer, e.getMessage());
+        }
+        continue;
+      }
+      String key = keyAndSource.get()[0];
+      String source = keyAndSource.get()[1];
+      injected.add(example);
+      for (ObjectNode parent : placeholder.getValue()) {
+        /* Further sites reuse the example, and count as hits as they do when streaming */
+        if (parent != placeholder.getValue().get(0)) {
+          recorder.cache(true);
         }
-        method.setAccessible(true);
-        Object example = method.invoke(null);
-        if (example == null) {
-          throw new MojoExecutionException("Example must not be null");
+        guard.record(key, source, size(source));
+        parent.set(EXAMPLE_KEY, example);
+        recorder.resolved();
+      }
+    }
+    guard.finish();
+    sortObjectNode(writable(root, PATHS, injected));
+    sortObjectNode(writable(root, SCHEMAS, injected));
+  }
+
+  /**
+   * Collect the JSON pointers of the example fields of placeholder sites, in document order. Only
+   * used when a placeholder can not be resolved, as nodes of a tree do not know their pointers.
+   *
+   * @param node The node to search.
+   * @param pointer The pointer of the node.
+   * @param parents The parents of the sites, by identity.
+   * @param pointers The pointers found.
+   */
+  private static void locate(
+      JsonNode node, String pointer, Set<JsonNode> parents, List<String> pointers) {
+    if (parents.contains(node)) {
+      pointers.add(pointer + "/" + EXAMPLE_KEY);
+    }
+    if (node.isObject()) {
+      for (Iterator<Map.Entry<String, JsonNode>> it = node.fields(); it.hasNext(); ) {
+        Map.Entry<String, JsonNode> field = it.next();
+        locate(
+            field.getValue(),
+            pointer + "/" + StreamingInjector.escape(field.getKey()),
+            parents,
+            pointers);
+      }
+    } else if (node.isArray()) {
+      for (int i = 0; i < node.size(); i++) {
+        locate(node.get(i), pointer + "/" + i, parents, pointers);
+      }
+    }
+  }
+
+  /**
+   * Return the node at a pointer so that it may be modified. A shared example on the way (including
+   * the node itself) is first replaced by a copy, so the example is not changed at its other sites
+   * or in the cache.
+   *
+   * @param root The root of the document.
+   * @param pointer The pointer.
+   * @param shared Examples that are shared, by identity.
+   * @return the node, or a missing node if there is none.
+   */
+  private static JsonNode writable(JsonNode root, JsonPointer pointer, Set<JsonNode> shared) {
+    JsonNode node = root;
+    for (JsonPointer p = pointer; !p.matches() && !node.isMissingNode(); p = p.tail()) {
+      JsonNode child =
+          node.isArray() ? node.path(p.getMatchingIndex()) : node.path(p.getMatchingProperty());
+      if (shared.contains(child)) {
+        child = child.deepCopy();
+        if (node.isArray()) {
+          ((ArrayNode) node).set(p.getMatchingIndex(), child);
+        } else {
+          ((ObjectNode) node).set(p.getMatchingProperty(), child);
         }
-        return Optional.of(example);
-      } catch (ReflectiveOperationException e) {
-        throw new MojoExecutionException("Failed to inject example [" + key + "]", e);
       }
+      node = child;
+    }
+    return node;
+  }
+
+  /**
+   * Fetch the examples of every key without an override from the providers in one batch, including
+   * the keys of targets.
+   *
+   * @param placeholders The placeholders of a document.
+   * @throws MojoExecutionException if a provider fails.
+   */
+  private void prefetch(Collection<String> placeholders) throws MojoExecutionException {
+    List<String> all = new ArrayList<>(placeholders);
+    plan.getTargets().forEach(target -> all.add(target.placeholder()));
+    Set<String> keys = new HashSet<>();
+    for (String placeholder : all) {
+      Matcher matcher = PATTERN.matcher(placeholder);
+      if (matcher.find() && (overrides == null || !overrides.containsKey(matcher.group(1)))) {
+        keys.add(matcher.group(1));
+      }
+    }
+    providers().fetch(keys);
+  }
+
+  /**
+   * Return the example providers of the class loader, loading them on first use.
+   *
+   * @return the providers.
+   * @throws MojoExecutionException if a provider can not be loaded.
+   */
+  private ExampleProviders providers() throws MojoExecutionException {
+    if (providers == null) {
+      providers = new ExampleProviders(classLoader);
+    }
+    return providers;
+  }
+
+  /**
+   * Inject the example of a target, if its parent is an object or its parent is an array that has
+   * the index.
+   *
+   * @return false if the target was not found.
+   */
+  private boolean injectTarget(
+      JsonNode root,
+      Target target,
+      ObjectMapper mapper,
+      SizeGuard guard,
+      Set<JsonNode> injected,
+      FileMetrics recorder)
+      throws MojoExecutionException, IOException {
+    JsonNode parent = writable(root, target.getParent(), injected);
+    int index = target.getIndex();
+    if (!parent.isObject() && !(parent.isArray() && index >= 0 && index < parent.size())) {
+      return false;
+    }
+    Optional<String[]> keyAndSource = keyAndSource(target.placeholder());
+    String key = keyAndSource.get()[0];
+    String source = keyAndSource.get()[1];
+    recorder.placeholder();
+    JsonNode example = example(key, source, mapper, recorder);
+    injected.add(example);
+    guard.record(key, source, size(source));
+    if (parent.isObject()) {
+      ((ObjectNode) parent).set(target.getName(), example);
     } else {
-      log.warn(
-          "Example [{}] does not match pattern of ${key:package.Class#staticMethod}; skipped",
-          placeholder);
+      ((ArrayNode) parent).set(index, example);
     }
-    return Optional.empty();
+    recorder.resolved();
+    return true;
   }
 
   /**
-   * Inject an example into a parent using a mapper.
+   * Warn about targets that were not found in a document.
    *
-   * @param example The example to inject.
-   * @param parent The parent of the example.
-   * @param mapper The mapper to use.
-   * @throws IOException if a file related exception occurs.
+   * @param missing The targets.
+   * @param name The name of the document.
    */
-  private void inject(Object example, JsonNode parent, ObjectMapper mapper) throws IOException {
-    String exampleString = mapper.writeValueAsString(example);
-    JsonNode exampleJsonNode = mapper.readTree(exampleString);
-    ((ObjectNode) parent).set(EXAMPLE_KEY, exampleJsonNode);
+  private static void warnMissing(Collection<Target> missing, String name) {
+    for (Target target : missing) {
+      log.warn("Example target [{}] not found in {}; skipped", target.getPointer(), name);
+    }
   }
 
   /**
@@ -158,24 +947,248 @@ public class ExampleInjector {
    * @throws MojoExecutionException if an execution error occurs.
    */
   public void injectSwaggerExamples(File file, Format format) throws MojoExecutionException {
+    injectSwaggerExamples(file, format, file, format);
+  }
+
+  /**
+   * Inject examples into a file and write the result to another file, possibly in another format
+   * (e.g. a compact binary format for other build stages).
+   *
+   * <p>If a format is null, attempt to infer it from the corresponding file.
+   *
+   * @param file The file to read.
+   * @param format The format of the file.
+   * @param output The file to write.
+   * @param outputFormat The format of the output.
+   * @throws MojoExecutionException if an execution error occurs.
+   */
+  public void injectSwaggerExamples(File file, Format format, File output, Format outputFormat)
+      throws MojoExecutionException {
+    FileMetrics recorder = metrics.file(file);
+    recorder.read(file.length());
+    if (file.length() * TREE_OVERHEAD <= memoryBudget) {
+      long start = System.nanoTime();
+      JsonNode root = readTree(file, format);
+      recorder.time("read", start);
+      injectAndWrite(output, outputFormat, root, recorder, unresolved(file));
+      return;
+    }
     try {
-      log.info("Processing {}", file.getCanonicalPath());
-      ObjectMapper mapper =
-          getMapper(format, file).orElseThrow(() -> new MojoExecutionException("Unknown mapper"));
-      JsonNode root = mapper.readTree(file);
-      List<JsonNode> parents = root.findParents(EXAMPLE_KEY);
-      for (final JsonNode parent : parents) {
-        if (parent.get(EXAMPLE_KEY).isTextual()) {
-          final String placeholder = parent.get(EXAMPLE_KEY).asText();
-          Optional<Object> example = example(placeholder);
-          if (example.isPresent()) {
-            inject(example.get(), parent, mapper);
-          }
+      log.info("Processing {} (streaming, exceeds memory budget)", file.getCanonicalPath());
+      Format resolvedOutputFormat = resolve(outputFormat, output);
+      SizeGuard guard = new SizeGuard(limits, output.getName());
+      Document unresolved = unresolved(file);
+      StreamingInjector streaming =
+          new StreamingInjector(
+              getMapper(format, file).getFactory(),
+              getMapper(resolvedOutputFormat),
+              resolvedOutputFormat,
+              io,
+              plan,
+              getMapper(Format.JSON).getFactory(),
+              new ExampleWriter() {
+                /** Errors of placeholders that were not resolved, so they are tried once. */
+                private final Map<String, String> failures = new HashMap<>();
+
+                @Override
+                public boolean write(String placeholder, String pointer, JsonGenerator generator)
+                    throws IOException, MojoExecutionException {
+                  String error = failures.get(placeholder);
+                  if (error == null) {
+                    try {
+                      return writeExample(placeholder, generator, guard, recorder);
+                    } catch (MojoExecutionException e) {
+                      error = e.getMessage();
+                      failures.put(placeholder, error);
+                    }
+                  }
+                  unresolved.add(pointer, error);
+                  generator.writeString(placeholder);
+                  return true;
+                }
+
+                @Override
+                public boolean finish() throws MojoExecutionException {
+                  guard.finish();
+                  return !failed(unresolved, output, recorder);
+                }
+              });
+      long start = System.nanoTime();
+      if (!streaming.rewrite(file, output)) {
+        return;
+      }
+      recorder.time("stream", start);
+      recorder.written(output.length());
+      recorder.processed();
+      warnMissing(streaming.missingTargets(), output.getName());
+      if (diff != null) {
+        log.warn("{} was streamed and is not compared with its baseline", output.getName());
+      }
+    } catch (JsonProcessingException e) {
+      throw new MojoExecutionException("Error processing JSON", e);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Error while processing file", e);
+    } finally {
+      for (File spill : spills.values()) {
+        FileUtils.deleteQuietly(spill);
+      }
+      spills.clear();
+    }
+  }
+
+  /**
+   * Return the view of a document's errors, which is shared with other documents if the caller
+   * collects errors.
+   *
+   * @param file The document.
+   * @return the view.
+   */
+  private Document unresolved(File file) {
+    return (errors == null ? new ResolutionErrors() : errors).document(file.getPath());
+  }
+
+  /**
+   * Return whether a document has examples that could not be resolved, in which case it must not be
+   * written and is counted as skipped. Its errors are thrown unless the caller collects them.
+   *
+   * @param unresolved Errors of the document.
+   * @param file The file that is not written.
+   * @param recorder Metrics of the document.
+   * @return true if the document must not be written.
+   * @throws MojoExecutionException if the document has errors and they are not collected.
+   */
+  private boolean failed(Document unresolved, File file, FileMetrics recorder)
+      throws MojoExecutionException {
+    if (!unresolved.isFailed()) {
+      return false;
+    }
+    recorder.skipped();
+    if (errors == null) {
+      unresolved.check();
+    }
+    log.error("Examples of {} could not be resolved; not written", file.getName());
+    return true;
+  }
+
+  /**
+   * Compare an injected document with its baseline, if a diff report is being built. This happens
+   * before the document is written, so a baseline may be the file being overwritten.
+   */
+  private void compare(File output, JsonNode root) throws IOException {
+    if (diff != null) {
+      diff.compare(output, root)
+          .ifPresent(summary -> log.info("{}: {}", diff.name(output), summary));
+    }
+  }
+
+  /**
+   * Inject examples into a copy of an already parsed document and write the result to a file.
+   *
+   * <p>The document itself is left untouched, so it may be injected again later (e.g. after the
+   * class path has been reloaded).
+   *
+   * @param file The file to write.
+   * @param format The format to use (may be null).
+   * @param document The parsed document.
+   * @throws MojoExecutionException if an execution error occurs.
+   */
+  void injectSwaggerExamples(File file, Format format, JsonNode document)
+      throws MojoExecutionException {
+    injectAndWrite(file, format, document.deepCopy(), metrics.file(file), unresolved(file));
+  }
+
+  /**
+   * Inject examples into a document in place and write it to a file.
+   *
+   * @param file The file to write.
+   * @param format The format to use (may be null).
+   * @param root The document, which is modified.
+   * @param recorder Metrics of the document.
+   * @param unresolved Errors of the document.
+   * @throws MojoExecutionException if an execution error occurs.
+   */
+  private void injectAndWrite(
+      File file, Format format, JsonNode root, FileMetrics recorder, Document unresolved)
+      throws MojoExecutionException {
+    try {
+      Format resolved = resolve(format, file);
+      ObjectMapper mapper = getMapper(resolved);
+      long start = System.nanoTime();
+      inject(
+          root,
+          file.getName(),
+          mapper,
+          new SizeGuard(limits, file.getName()),
+          recorder,
+          unresolved);
+      recorder.time("inject", start);
+      if (failed(unresolved, file, recorder)) {
+        return;
+      }
+      compare(file, root);
+      start = System.nanoTime();
+      file.getAbsoluteFile().getParentFile().mkdirs();
+      try (JsonGenerator generator = resolved.createGenerator(mapper, io.output(file))) {
+        mapper.writeTree(generator, root);
+      }
+      recorder.time("write", start);
+      recorder.written(file.length());
+      recorder.processed();
+    } catch (JsonProcessingException e) {
+      throw new MojoExecutionException("Error processing JSON", e);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Error while processing file", e);
+    }
+  }
+
+  /**
+   * Inject examples into a document in place and write it to each output. The document is not read
+   * from or written to any other file, e.g. a document generated in process.
+   *
+   * @param document The document.
+   * @param outputs The files to write and their formats (null formats are inferred).
+   * @throws MojoExecutionException if an execution error occurs.
+   */
+  public void injectSwaggerExamples(JsonNode document, Map<File, Format> outputs)
+      throws MojoExecutionException {
+    if (outputs.isEmpty()) {
+      return;
+    }
+    try {
+      Map<File, Format> resolved = new LinkedHashMap<>();
+      for (Map.Entry<File, Format> output : outputs.entrySet()) {
+        resolved.put(output.getKey(), resolve(output.getValue(), output.getKey()));
+      }
+      Map.Entry<File, Format> first = resolved.entrySet().iterator().next();
+      String name = first.getKey().getName();
+      FileMetrics recorder = metrics.file(first.getKey());
+      Document unresolved = unresolved(first.getKey());
+      long start = System.nanoTime();
+      inject(
+          document,
+          name,
+          getMapper(first.getValue()),
+          new SizeGuard(limits, name),
+          recorder,
+          unresolved);
+      recorder.time("inject", start);
+      if (failed(unresolved, first.getKey(), recorder)) {
+        return;
+      }
+      for (Map.Entry<File, Format> output : resolved.entrySet()) {
+        compare(output.getKey(), document);
+        log.info("Writing {}", output.getKey().getCanonicalPath());
+        ObjectMapper mapper = getMapper(output.getValue());
+        output.getKey().getAbsoluteFile().getParentFile().mkdirs();
+        start = System.nanoTime();
+        try (JsonGenerator generator =
+            output.getValue().createGenerator(mapper, io.output(output.getKey()))) {
+          mapper.writeTree(generator, document);
         }
+        recorder.time("write", start);
+        recorder.written(output.getKey().length());
       }
-      sortObjectNode((ObjectNode) root.get("paths"));
-      sortObjectNode((ObjectNode) root.get("components").get("schemas"));
-      mapper.writerWithDefaultPrettyPrinter().writeValue(file, root);
+      recorder.processed();
     } catch (JsonProcessingException e) {
       throw new MojoExecutionException("Error processing JSON", e);
     } catch (IOException e) {
@@ -183,21 +1196,204 @@ public class ExampleInjector {
     }
   }
 
-  /** Supported file formats and associated mappers. */
+  /**
+   * Return the cache for a source, which is local if the source was found by the class loader
+   * itself.
+   *
+   * @param source The source.
+   * @return the cache.
+   */
+  private Cache cache(String source) {
+    return localSources.contains(source) ? local : shared;
+  }
+
+  private JsonNode cached(String source) {
+    JsonNode example = local.examples.get(source);
+    return example == null ? shared.examples.get(source) : example;
+  }
+
+  private Size size(String source) {
+    Size size = local.sizes.get(source);
+    return size == null ? shared.sizes.get(source) : size;
+  }
+
+  /**
+   * Return the mapper for a format, creating it on first use.
+   *
+   * <p>If format is null, attempt to infer the file format.
+   *
+   * @param format The format (may be null).
+   * @param file The file to infer from.
+   * @return the mapper.
+   * @throws MojoExecutionException if the format can not be determined.
+   * @throws IOException in the event of a file handling exception.
+   */
+  private ObjectMapper getMapper(Format format, File file)
+      throws MojoExecutionException, IOException {
+    return getMapper(resolve(format, file));
+  }
+
+  private ObjectMapper getMapper(Format format) {
+    return mappers.computeIfAbsent(
+        format, f -> f == Format.YAML && minimalYaml ? minimalYamlMapper() : f.getMapper());
+  }
+
+  /**
+   * Return a YAML mapper that writes without a document start marker and only quotes strings when
+   * needed (numeric strings such as response codes are always quoted). Multi-line strings (e.g.
+   * descriptions) are written as literal blocks.
+   *
+   * @return the mapper.
+   */
+  static ObjectMapper minimalYamlMapper() {
+    return RecyclerPool.yamlMapper(
+        YAMLFactory.builder()
+            .disable(YAMLGenerator.Feature.WRITE_DOC_START_MARKER)
+            .enable(YAMLGenerator.Feature.MINIMIZE_QUOTES)
+            .enable(YAMLGenerator.Feature.ALWAYS_QUOTE_NUMBERS_AS_STRINGS)
+            .enable(YAMLGenerator.Feature.LITERAL_BLOCK_STYLE));
+  }
+
+  /**
+   * Return the format of a file, inferring it if format is null.
+   *
+   * @param format The format (may be null).
+   * @param file The file to infer from.
+   * @return the format.
+   * @throws MojoExecutionException if the format can not be determined.
+   * @throws IOException in the event of a file handling exception.
+   */
+  private Format resolve(Format format, File file) throws MojoExecutionException, IOException {
+    return getFormat(format, file).orElseThrow(() -> new MojoExecutionException("Unknown mapper"));
+  }
+
+  /**
+   * Parse a file without injecting any examples.
+   *
+   * <p>If format is null, attempt to infer the file format.
+   *
+   * @param file The file to read.
+   * @param format The format to use.
+   * @return the root of the document.
+   * @throws MojoExecutionException if the file can not be read.
+   */
+  JsonNode readTree(File file, Format format) throws MojoExecutionException {
+    try {
+      log.info("Processing {}", file.getCanonicalPath());
+      return getMapper(format, file).readTree(io.input(file));
+    } catch (JsonProcessingException e) {
+      throw new MojoExecutionException("Error processing JSON", e);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Error while processing file", e);
+    }
+  }
+
+  /**
+   * Return the keys of overrides that no placeholder has referred to so far. Their sources are
+   * never loaded.
+   *
+   * @return the sorted keys.
+   */
+  public Set<String> unusedOverrides() {
+    Set<String> unused = new TreeSet<>();
+    if (overrides != null) {
+      unused.addAll(overrides.keySet());
+      unused.removeAll(usedKeys);
+    }
+    return unused;
+  }
+
+  /**
+   * Create an injector for another class path (e.g. another module), which shares the mappers and
+   * the examples that do not depend on the class loader itself. The overrides, memory budget, YAML
+   * style, limits, I/O strategy and plan are copied.
+   *
+   * <p>Siblings may be used concurrently, as long as each one is only used by one thread at a time.
+   *
+   * @param classLoader Class path to use for loading examples.
+   * @return the new injector.
+   */
+  public ExampleInjector sibling(ClassLoader classLoader) {
+    ExampleInjector sibling = new ExampleInjector(classLoader, overrides, mappers, shared);
+    sibling.setMemoryBudget(memoryBudget);
+    sibling.setMinimalYaml(minimalYaml);
+    sibling.setLimits(limits);
+    sibling.setIo(io);
+    sibling.setPlan(plan);
+    sibling.setMetrics(metrics);
+    sibling.setErrors(errors);
+    return sibling;
+  }
+
+  /**
+   * Replace the class path used for loading examples.
+   *
+   * <p>Cached examples whose class was defined by the previous class loader are forgotten so they
+   * will be loaded again. Examples from its parents (e.g. plugin dependencies) are kept. Snapshots,
+   * providers and results of checks are always forgotten.
+   *
+   * @param classLoader The new class loader.
+   */
+  void reload(ClassLoader classLoader) {
+    local.examples.clear();
+    local.sizes.clear();
+    localSources.clear();
+    checked.clear();
+    snapshots.clear();
+    providers = null;
+    this.classLoader = classLoader;
+  }
+
+  /** Converted examples and their sizes, keyed by source (package.Class#staticMethod). */
+  private static class Cache {
+    private final Map<String, JsonNode> examples = new ConcurrentHashMap<>();
+
+    private final Map<String, Size> sizes = new ConcurrentHashMap<>();
+  }
+
+  /** Supported file formats and associated mappers, which share a {@link RecyclerPool}. */
   public enum Format {
     JSON {
       @Override
       public ObjectMapper getMapper() {
-        return JacksonConfig.createMapper();
+        return RecyclerPool.jsonMapper();
+      }
+
+      @Override
+      public JsonGenerator createGenerator(ObjectMapper mapper, OutputStream out)
+          throws IOException {
+        return super.createGenerator(mapper, out).useDefaultPrettyPrinter();
       }
     },
     YAML {
       @Override
       public ObjectMapper getMapper() {
-        return JacksonConfig.createMapper(new YAMLFactory());
+        return RecyclerPool.yamlMapper(YAMLFactory.builder());
+      }
+
+      /** The YAML emitter writes many small chunks of text, so the output is given a buffer. */
+      @Override
+      public JsonGenerator createGenerator(ObjectMapper mapper, OutputStream out)
+          throws IOException {
+        return super.createGenerator(mapper, new BufferedOutputStream(out, YAML_BUFFER_SIZE));
+      }
+    },
+    SMILE {
+      @Override
+      public ObjectMapper getMapper() {
+        return RecyclerPool.smileMapper();
+      }
+    },
+    CBOR {
+      @Override
+      public ObjectMapper getMapper() {
+        return RecyclerPool.cborMapper();
       }
     };
 
+    /** Bytes buffered before YAML is written to a file. */
+    private static final int YAML_BUFFER_SIZE = 64 * 1024;
+
     /**
      * Null-safe case-insensitive lookup.
      *
@@ -213,7 +1409,98 @@ public class ExampleInjector {
       return null;
     }
 
+    /**
+     * Create a generator that writes this format. Closing the generator closes the stream.
+     *
+     * @param mapper A mapper for this format.
+     * @param out The stream to write to (e.g. from an {@link IoStrategy}).
+     * @return the generator.
+     * @throws IOException if the generator can not be created.
+     */
+    public JsonGenerator createGenerator(ObjectMapper mapper, OutputStream out) throws IOException {
+      return mapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+    }
+
     /** Mapper that supports this file type. */
     public abstract ObjectMapper getMapper();
   }
+
+  /** Strategies for reading and writing documents. */
+  public enum IoStrategy {
+    /** File streams, buffered by Jackson. */
+    STREAM {
+      @Override
+      public InputStream input(File file) throws IOException {
+        return new FileInputStream(file);
+      }
+
+      @Override
+      public OutputStream output(File file) throws IOException {
+        return new FileOutputStream(file);
+      }
+    },
+    /**
+     * Files are read from a memory-mapped channel, and written to a channel through a pooled direct
+     * buffer. Files too large to map are read as a stream.
+     *
+     * <p>Some platforms (e.g. Windows) do not allow a file to be replaced while it is mapped, so
+     * this strategy should not be used there to rewrite files in place.
+     */
+    MAPPED {
+      @Override
+      public InputStream input(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+          long size = channel.size();
+          if (size > Integer.MAX_VALUE) {
+            return STREAM.input(file);
+          }
+          return new ByteBufferBackedInputStream(
+              channel.map(FileChannel.MapMode.READ_ONLY, 0, size));
+        }
+      }
+
+      @Override
+      public OutputStream output(File file) throws IOException {
+        return new ChannelOutputStream(
+            FileChannel.open(
+                file.toPath(),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE));
+      }
+    };
+
+    /**
+     * Null-safe case-insensitive lookup.
+     *
+     * @param name The name to lookup.
+     * @return the matching IoStrategy or null.
+     */
+    public static IoStrategy lookup(String name) {
+      for (IoStrategy io : values()) {
+        if (StringUtils.equalsIgnoreCase(io.name(), name)) {
+          return io;
+        }
+      }
+      return null;
+    }
+
+    /**
+     * Open a file for reading.
+     *
+     * @param file The file.
+     * @return the stream, which the caller must close.
+     * @throws IOException if the file can not be opened.
+     */
+    public abstract InputStream input(File file) throws IOException;
+
+    /**
+     * Open a file for writing, replacing its content.
+     *
+     * @param file The file.
+     * @return the stream, which the caller must close.
+     * @throws IOException if the file can not be opened.
+     */
+    public abstract OutputStream output(File file) throws IOException;
+  }
 }
@@ -0,0 +1,82 @@
+package gov.va.plugin.maven.swagger;
+
+import lombok.Builder;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Limits on the size of examples, measured as compact JSON after conversion. A limit of zero is
+ * unlimited.
+ *
+ * <p>Per-example limits apply to each distinct example. The total limit applies to every example
+ * injected into a document, counting each site.
+ */
+@Value
+@Builder
+public class ExampleLimits {
+  /** No limits. */
+  public static final ExampleLimits NONE = ExampleLimits.builder().build();
+
+  /** Bytes of a single example. */
+  long maxBytes;
+
+  /** Nodes (objects, arrays and values) of a single example. */
+  long maxNodes;
+
+  /** Bytes of all examples injected into a document. */
+  long maxTotalBytes;
+
+  /** What to do when a limit is exceeded. */
+  @Builder.Default Policy policy = Policy.WARN;
+
+  /** Elements kept in each array when truncating. */
+  @Builder.Default int truncateArraysTo = 10;
+
+  /**
+   * Return whether any limit is set.
+   *
+   * @return true if examples should be measured.
+   */
+  public boolean isEnabled() {
+    return maxBytes > 0 || maxNodes > 0 || maxTotalBytes > 0;
+  }
+
+  /**
+   * Return whether a single example exceeds the per-example limits.
+   *
+   * @param bytes The bytes of the example.
+   * @param nodes The nodes of the example.
+   * @return true if a limit is exceeded.
+   */
+  public boolean exceeds(long bytes, long nodes) {
+    return (maxBytes > 0 && bytes > maxBytes) || (maxNodes > 0 && nodes > maxNodes);
+  }
+
+  /** Policies for examples that exceed a limit. */
+  public enum Policy {
+    /** Log a warning. */
+    WARN,
+    /** Fail the build, after every example of the document has been measured. */
+    FAIL,
+    /**
+     * Truncate the arrays of examples that exceed a per-example limit. A warning is logged if the
+     * truncated example or the document still exceeds a limit.
+     */
+    TRUNCATE;
+
+    /**
+     * Null-safe case-insensitive lookup.
+     *
+     * @param name The name to lookup.
+     * @return the matching Policy or null.
+     */
+    public static Policy lookup(String name) {
+      for (Policy policy : values()) {
+        if (StringUtils.equalsIgnoreCase(policy.name(), name)) {
+          return policy;
+        }
+      }
+      return null;
+    }
+  }
+}
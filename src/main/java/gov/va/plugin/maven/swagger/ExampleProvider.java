@@ -0,0 +1,34 @@
+package gov.va.plugin.maven.swagger;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Provides examples by key, as an alternative to a static method per example. A provider can
+ * produce many examples together, e.g. from one large resource or from shared fixtures.
+ *
+ * <p>Providers are discovered with {@link java.util.ServiceLoader} on the class path used for
+ * examples, so an implementation is registered in <code>
+ * META-INF/services/gov.va.plugin.maven.swagger.ExampleProvider</code> and needs a public no-arg
+ * constructor. For each key, an override from the plugin's configuration is used first, then the
+ * first provider that has the key, then the source in the placeholder.
+ */
+public interface ExampleProvider {
+  /**
+   * Return the examples for a set of keys. Every key of an in-memory document is requested at once,
+   * and each key is requested at most once per class path.
+   *
+   * @param keys The keys requested, which this provider may not all have.
+   * @return the examples this provider has, by key. Keys it does not have (or null examples) are
+   *     left to the next provider or the placeholder's source.
+   */
+  Map<String, Object> examples(Set<String> keys);
+
+  /**
+   * Return the keys this provider has, without producing any example. Used by the check goal, which
+   * must not invoke any example.
+   *
+   * @return the keys that {@link #examples(Set)} returns a non-null example for.
+   */
+  Set<String> keys();
+}
@@ -0,0 +1,165 @@
+package gov.va.plugin.maven.swagger;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+import lombok.Value;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * The {@link ExampleProvider} implementations of a class path. Examples are fetched in batches and
+ * remembered by key, including keys that no provider has. Which provider has a key can also be
+ * looked up from the keys the providers list, without fetching any example.
+ */
+class ExampleProviders {
+  /** Prefix of the sources of provided examples, e.g. <code>provider:package.Class#key</code>. */
+  static final String SOURCE_PREFIX = "provider:";
+
+  private final List<ExampleProvider> providers;
+
+  /** Examples by key (empty if no provider has the key). */
+  private final Map<String, Optional<Provided>> provided = new HashMap<>();
+
+  /** The first provider that lists each key, loaded on first use. */
+  private Map<String, ExampleProvider> owners;
+
+  /**
+   * Load the providers of a class path.
+   *
+   * @param classLoader The class path.
+   * @throws MojoExecutionException if a provider can not be loaded.
+   */
+  ExampleProviders(ClassLoader classLoader) throws MojoExecutionException {
+    try {
+      providers =
+          ServiceLoader.load(ExampleProvider.class, classLoader).stream()
+              .map(ServiceLoader.Provider::get)
+              .collect(Collectors.toList());
+    } catch (ServiceConfigurationError e) {
+      throw new MojoExecutionException("Unable to load example providers", e);
+    }
+  }
+
+  static boolean isProvided(String source) {
+    return source.startsWith(SOURCE_PREFIX);
+  }
+
+  /**
+   * Return the key of a provided source (<code>provider:package.Class#key</code>).
+   *
+   * @param source The source.
+   * @return the key.
+   */
+  static String key(String source) {
+    return source.substring(source.indexOf('#') + 1);
+  }
+
+  /**
+   * Return the source of a provided example (<code>provider:package.Class#key</code>).
+   *
+   * @param provider The provider.
+   * @param key The key.
+   * @return the source.
+   */
+  static String source(ExampleProvider provider, String key) {
+    return SOURCE_PREFIX + provider.getClass().getName() + "#" + key;
+  }
+
+  /**
+   * Fetch the examples of keys that have not been requested yet. Each provider is asked once for
+   * the keys that the previous providers do not have.
+   *
+   * @param keys The keys.
+   * @throws MojoExecutionException if a provider fails.
+   */
+  void fetch(Collection<String> keys) throws MojoExecutionException {
+    Set<String> missing = new TreeSet<>(keys);
+    missing.removeAll(provided.keySet());
+    for (ExampleProvider provider : providers) {
+      if (missing.isEmpty()) {
+        break;
+      }
+      Map<String, Object> examples;
+      try {
+        examples = provider.examples(Collections.unmodifiableSet(new TreeSet<>(missing)));
+      } catch (RuntimeException e) {
+        throw new MojoExecutionException(
+            "Example provider " + provider.getClass().getName() + " failed", e);
+      }
+      for (Map.Entry<String, Object> example : examples.entrySet()) {
+        if (example.getValue() != null && missing.remove(example.getKey())) {
+          provided.put(
+              example.getKey(),
+              Optional.of(new Provided(provider, example.getKey(), example.getValue())));
+        }
+      }
+    }
+    for (String key : missing) {
+      provided.put(key, Optional.empty());
+    }
+  }
+
+  /**
+   * Return the example of a key, fetching it alone if it has not been requested yet.
+   *
+   * @param key The key.
+   * @return the example, if a provider has it.
+   * @throws MojoExecutionException if a provider fails.
+   */
+  Optional<Provided> get(String key) throws MojoExecutionException {
+    if (!provided.containsKey(key)) {
+      fetch(Set.of(key));
+    }
+    return provided.get(key);
+  }
+
+  /**
+   * Return the first provider that lists a key, without fetching any example.
+   *
+   * @param key The key.
+   * @return the provider, if one has the key.
+   * @throws MojoExecutionException if a provider fails.
+   */
+  Optional<ExampleProvider> provider(String key) throws MojoExecutionException {
+    if (owners == null) {
+      Map<String, ExampleProvider> listed = new HashMap<>();
+      for (ExampleProvider provider : providers) {
+        Set<String> keys;
+        try {
+          keys = provider.keys();
+        } catch (RuntimeException e) {
+          throw new MojoExecutionException(
+              "Example provider " + provider.getClass().getName() + " failed", e);
+        }
+        for (String listedKey : keys) {
+          listed.putIfAbsent(listedKey, provider);
+        }
+      }
+      owners = listed;
+    }
+    return Optional.ofNullable(owners.get(key));
+  }
+
+  /** An example and the provider that has it. */
+  @Value
+  static class Provided {
+    ExampleProvider provider;
+
+    String key;
+
+    Object example;
+
+    /** The source of the example, used like the source of a placeholder. */
+    String source() {
+      return ExampleProviders.source(provider, key);
+    }
+  }
+}
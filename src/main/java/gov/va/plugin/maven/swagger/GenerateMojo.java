@@ -0,0 +1,164 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.core.util.Yaml;
+import io.swagger.v3.jaxrs2.integration.JaxrsOpenApiContextBuilder;
+import io.swagger.v3.oas.integration.OpenApiConfigurationException;
+import io.swagger.v3.oas.integration.SwaggerConfiguration;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.Setter;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * Maven Mojo that generates the OpenAPI document of a JAX-RS project in process (like <code>
+ * io.swagger.core.v3:swagger-maven-plugin</code>) and injects examples into it before it is first
+ * written. This replaces running swagger-maven-plugin followed by the inject goal, which writes
+ * each file, reads it back and writes it again.
+ *
+ * <p>The document is converted to a tree once, examples are injected into it once, and it is then
+ * written in each output format. The project's dependencies are added to the plugin's class path,
+ * as swagger-maven-plugin does, so resources and their models can be scanned.
+ */
+@Setter
+@Mojo(
+    name = "generate",
+    defaultPhase = LifecyclePhase.COMPILE,
+    requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME,
+    configurator = "include-project-dependencies")
+public class GenerateMojo extends SwaggerMojo {
+  /** Packages to scan for resources. */
+  @Parameter private Set<String> resourcePackages;
+
+  /** Resource classes to read, in addition to the resource packages. */
+  @Parameter private Set<String> resourceClasses;
+
+  /** Read resources that are not annotated with <code>@OpenAPIDefinition</code>. */
+  @Parameter(defaultValue = "true")
+  private boolean readAllResources;
+
+  /** A JSON or YAML document to start from (e.g. with info and servers), resolved from basedir. */
+  @Parameter private String openapiFilePath;
+
+  /** Directory to write the document to, defaults to the project's output directory. */
+  @Parameter private File outputPath;
+
+  /** Name of the document, without an extension. */
+  @Parameter(defaultValue = "openapi")
+  private String outputFileName;
+
+  /**
+   * Comma separated formats to write the document in (<code>JSON</code>, <code>YAML</code>, <code>
+   * SMILE</code> or <code>CBOR</code>). The extension of each file is the lower case format.
+   */
+  @Parameter(defaultValue = "JSON,YAML")
+  private String outputFormats;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    validate();
+    Map<File, Format> outputs = generatedOutputs();
+    ExampleInjector injector = getExampleInjector(getClasspath(), overrides());
+    DiffReport diff = diff();
+    injector.setDiff(diff);
+    name(diff, outputs.keySet());
+    BuildMetrics metrics = metrics();
+    injector.setMetrics(metrics(metrics));
+    ResolutionErrors errors = new ResolutionErrors();
+    injector.setErrors(errors);
+    try {
+      OpenAPI openApi;
+      try {
+        openApi = generate(configuration());
+      } catch (OpenApiConfigurationException e) {
+        throw new MojoFailureException("Unable to generate the OpenAPI document", e);
+      }
+      JsonNode document = Json.mapper().valueToTree(openApi);
+      injector.injectSwaggerExamples(document, outputs);
+      errors.check();
+    } finally {
+      writeMetrics(metrics);
+    }
+    writeDiff(diff);
+    reportUnusedOverrides(injector.unusedOverrides());
+  }
+
+  /**
+   * Build the configuration used to generate the document.
+   *
+   * @return the configuration.
+   * @throws MojoExecutionException if the document to start from can not be read.
+   */
+  SwaggerConfiguration configuration() throws MojoExecutionException {
+    SwaggerConfiguration configuration =
+        new SwaggerConfiguration()
+            .resourcePackages(resourcePackages)
+            .resourceClasses(resourceClasses)
+            .readAllResources(readAllResources);
+    if (StringUtils.isNotBlank(openapiFilePath)) {
+      configuration.openAPI(readOpenApi(file(openapiFilePath)));
+    }
+    return configuration;
+  }
+
+  /**
+   * Generate the document. Each execution uses its own context, so nothing is shared between
+   * projects or executions.
+   *
+   * @param configuration The configuration.
+   * @return the document.
+   * @throws OpenApiConfigurationException if the document can not be generated.
+   */
+  OpenAPI generate(SwaggerConfiguration configuration) throws OpenApiConfigurationException {
+    return new JaxrsOpenApiContextBuilder<>()
+        .openApiConfiguration(configuration)
+        .ctxId(getClass().getName() + "." + UUID.randomUUID())
+        .buildContext(true)
+        .read();
+  }
+
+  /**
+   * Get a Map of files (file:format) to write the document to.
+   *
+   * @return a non-null Map of files and formats.
+   * @throws MojoExecutionException if a format is not recognized.
+   */
+  Map<File, Format> generatedOutputs() throws MojoExecutionException {
+    Map<File, Format> outputs = new LinkedHashMap<>();
+    File directory = outputPath == null ? outputDirectory() : outputPath;
+    for (String name : StringUtils.split(StringUtils.defaultString(outputFormats), ", ")) {
+      Format format = Format.lookup(name);
+      if (format == null) {
+        throw new MojoExecutionException("Unrecognized file format: " + name);
+      }
+      outputs.put(new File(directory, outputFileName + "." + format.name().toLowerCase()), format);
+    }
+    return outputs;
+  }
+
+  private static OpenAPI readOpenApi(File file) throws MojoExecutionException {
+    try {
+      String extension = FilenameUtils.getExtension(file.getName());
+      if (StringUtils.equalsAnyIgnoreCase(extension, "yaml", "yml")) {
+        return Yaml.mapper().readValue(file, OpenAPI.class);
+      }
+      return Json.mapper().readValue(file, OpenAPI.class);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Unable to read " + file, e);
+    }
+  }
+}
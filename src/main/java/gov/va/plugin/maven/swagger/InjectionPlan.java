@@ -0,0 +1,114 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+import lombok.Value;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Examples placed at JSON pointers from configuration, without placeholders in the document.
+ *
+ * <p>Pointers are compiled once and grouped by the pointer of their parent, so applying the plan
+ * navigates directly to each target instead of searching the document. The last segment of a
+ * pointer is the field (or existing array index) that is set, e.g. <code>
+ * /paths/~1metadata/get/responses/200/content/application~1json/example</code>.
+ */
+public final class InjectionPlan {
+  /** A plan without targets. */
+  public static final InjectionPlan EMPTY = new InjectionPlan(List.of());
+
+  /** Every target, in configuration order. */
+  @Getter private final List<Target> targets;
+
+  /** Targets keyed by the pointer of their parent, then by name. */
+  private final Map<String, Map<String, Target>> parents = new LinkedHashMap<>();
+
+  /**
+   * Create a plan.
+   *
+   * @param targets The targets.
+   * @throws IllegalArgumentException if two targets have the same pointer.
+   */
+  public InjectionPlan(Collection<Target> targets) {
+    this.targets = List.copyOf(targets);
+    for (Target target : this.targets) {
+      if (children(target.getParent().toString()).containsKey(target.getName())) {
+        throw new IllegalArgumentException(
+            "Example target [" + target.getPointer() + "] is configured more than once");
+      }
+      parents
+          .computeIfAbsent(target.getParent().toString(), p -> new LinkedHashMap<>())
+          .put(target.getName(), target);
+    }
+  }
+
+  /**
+   * Return the targets whose parent is at a pointer.
+   *
+   * @param parent The pointer of the parent (e.g. <code>/paths/~1metadata</code>).
+   * @return the targets keyed by name, in configuration order.
+   */
+  Map<String, Target> children(String parent) {
+    return parents.getOrDefault(parent, Map.of());
+  }
+
+  boolean isEmpty() {
+    return targets.isEmpty();
+  }
+
+  /** An example placed at a JSON pointer. */
+  @Value
+  public static class Target {
+    /** The pointer, as configured. */
+    String pointer;
+
+    /** The pointer of the parent. */
+    JsonPointer parent;
+
+    /** The field name set in the parent, unescaped. */
+    String name;
+
+    /** The index set if the parent is an array, or -1 if the name is not an index. */
+    int index;
+
+    /** The example key. */
+    String key;
+
+    /** The example source (package.Class#staticMethod). */
+    String source;
+
+    /**
+     * Compile a target.
+     *
+     * @param pointer The JSON pointer of the example.
+     * @param key The example key.
+     * @param source The example source (package.Class#staticMethod).
+     * @throws IllegalArgumentException if the pointer or source is not valid.
+     */
+    public Target(String pointer, String key, String source) {
+      JsonPointer compiled = JsonPointer.compile(pointer);
+      if (compiled.matches()) {
+        throw new IllegalArgumentException("Example target must not be the document itself");
+      }
+      if (StringUtils.split(source, "#").length != 2) {
+        throw new IllegalArgumentException(
+            "Example [" + key + "] does not match pattern of package.Class#staticMethod");
+      }
+      this.pointer = pointer;
+      this.parent = compiled.head();
+      this.name = compiled.last().getMatchingProperty();
+      this.index = compiled.last().getMatchingIndex();
+      this.key = key;
+      this.source = source;
+    }
+
+    /** The placeholder equivalent to this target, which is resolved like any other. */
+    String placeholder() {
+      return "${" + key + ":" + source + "}";
+    }
+  }
+}
@@ -0,0 +1,124 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.util.BufferRecycler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactoryBuilder;
+
+/**
+ * Jackson buffer recyclers shared by every thread, used by the factories of each {@link
+ * ExampleInjector.Format}.
+ *
+ * <p>By default Jackson keeps a recycler per thread. The aggregate and watch goals process files on
+ * threads that only live for one run, so their buffers are discarded and reallocated on every run.
+ * Instead, threads are spread over a fixed number of recyclers. A recycler hands out each buffer
+ * with an atomic swap, so threads that share one never block: at worst a buffer that is in use is
+ * allocated again.
+ *
+ * <p>The pool is plugged in by overriding <code>JsonFactory._getBufferRecycler()</code>, an
+ * internal hook of jackson-core 2.13. Jackson 2.16 replaced the hook with its own <code>
+ * RecyclerPool</code> and no longer calls it, so this class must be revisited when Jackson is
+ * upgraded. <code>ExampleInjectorTest.testRecyclerPool</code> fails once the override is no longer
+ * used.
+ *
+ * <p>Mappers are created here rather than factories, and each factory is only referred to by its
+ * own class. Handing a factory to {@link JacksonConfig} would make the JVM load every format's
+ * classes to verify this class, even when only JSON is used.
+ */
+final class RecyclerPool {
+  /** Recyclers, a power of two so most processors have their own. */
+  private static final BufferRecycler[] RECYCLERS =
+      new BufferRecycler[Integer.highestOneBit(Runtime.getRuntime().availableProcessors()) * 4];
+
+  static {
+    for (int i = 0; i < RECYCLERS.length; i++) {
+      RECYCLERS[i] = new BufferRecycler();
+    }
+  }
+
+  private RecyclerPool() {}
+
+  /** CBOR mapper whose factory uses the pool. */
+  static ObjectMapper cborMapper() {
+    return PooledCborFactory.mapper();
+  }
+
+  /** JSON mapper whose factory uses the pool. */
+  static ObjectMapper jsonMapper() {
+    return PooledJsonFactory.mapper();
+  }
+
+  /** Recycler for the current thread. */
+  static BufferRecycler recycler() {
+    return RECYCLERS[(int) Thread.currentThread().getId() & (RECYCLERS.length - 1)];
+  }
+
+  /** Smile mapper whose factory uses the pool. */
+  static ObjectMapper smileMapper() {
+    return PooledSmileFactory.mapper();
+  }
+
+  /** YAML mapper whose factory uses the pool, configured by the given builder. */
+  static ObjectMapper yamlMapper(YAMLFactoryBuilder builder) {
+    return PooledYamlFactory.mapper(builder);
+  }
+
+  private static class PooledCborFactory extends CBORFactory {
+    private static final long serialVersionUID = -3198416427281764316L;
+
+    static ObjectMapper mapper() {
+      return JacksonConfig.createMapper(new PooledCborFactory());
+    }
+
+    @Override
+    public BufferRecycler _getBufferRecycler() {
+      return recycler();
+    }
+  }
+
+  private static class PooledJsonFactory extends JsonFactory {
+    private static final long serialVersionUID = 6617254806932404217L;
+
+    static ObjectMapper mapper() {
+      return JacksonConfig.createMapper(new PooledJsonFactory());
+    }
+
+    @Override
+    public BufferRecycler _getBufferRecycler() {
+      return recycler();
+    }
+  }
+
+  private static class PooledSmileFactory extends SmileFactory {
+    private static final long serialVersionUID = -7843624398735417580L;
+
+    static ObjectMapper mapper() {
+      return JacksonConfig.createMapper(new PooledSmileFactory());
+    }
+
+    @Override
+    public BufferRecycler _getBufferRecycler() {
+      return recycler();
+    }
+  }
+
+  private static class PooledYamlFactory extends YAMLFactory {
+    private static final long serialVersionUID = 2479613855003162371L;
+
+    PooledYamlFactory(YAMLFactoryBuilder builder) {
+      super(builder);
+    }
+
+    static ObjectMapper mapper(YAMLFactoryBuilder builder) {
+      return JacksonConfig.createMapper(new PooledYamlFactory(builder));
+    }
+
+    @Override
+    public BufferRecycler _getBufferRecycler() {
+      return recycler();
+    }
+  }
+}
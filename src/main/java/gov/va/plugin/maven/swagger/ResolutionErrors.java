@@ -0,0 +1,118 @@
+package gov.va.plugin.maven.swagger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Examples that could not be resolved (e.g. a missing class or method, a null example or an
+ * override that is not valid), collected across every placeholder and file so that they are
+ * reported in one failure instead of one build at a time.
+ *
+ * <p>Each document records through its own view. Views of different documents may record
+ * concurrently, as the modules of the aggregate goal do. Errors are reported sorted by document and
+ * message, so the report does not depend on the order documents were processed in.
+ */
+class ResolutionErrors {
+  /** Sites listed for each error; further sites are only counted. */
+  private static final int SITES = 3;
+
+  /** JSON pointers of the sites of each error, by document and message. */
+  private final SortedMap<String, SortedMap<String, List<String>>> errors = new TreeMap<>();
+
+  /**
+   * Throw every error recorded so far, if there are any.
+   *
+   * @throws MojoExecutionException listing each error and its sites.
+   */
+  synchronized void check() throws MojoExecutionException {
+    if (errors.isEmpty()) {
+      return;
+    }
+    StringBuilder message = new StringBuilder();
+    int count = 0;
+    for (Map.Entry<String, SortedMap<String, List<String>>> document : errors.entrySet()) {
+      for (Map.Entry<String, List<String>> error : document.getValue().entrySet()) {
+        List<String> sites = error.getValue();
+        message.append("\n  ").append(document.getKey()).append(' ');
+        message.append(String.join(", ", sites.subList(0, Math.min(SITES, sites.size()))));
+        if (sites.size() > SITES) {
+          message.append(" (and ").append(sites.size() - SITES).append(" more)");
+        }
+        message.append(": ").append(error.getKey());
+        count++;
+      }
+    }
+    throw new MojoExecutionException(
+        count + " example(s) could not be resolved:" + message.toString());
+  }
+
+  /**
+   * Return the view of a document.
+   *
+   * @param document The document, as it is reported (e.g. its path).
+   * @return the view.
+   */
+  Document document(String document) {
+    return new Document(document);
+  }
+
+  /**
+   * Return whether nothing has been recorded.
+   *
+   * @return true if there are no errors.
+   */
+  synchronized boolean isEmpty() {
+    return errors.isEmpty();
+  }
+
+  private synchronized void add(String document, String pointer, String message) {
+    errors
+        .computeIfAbsent(document, d -> new TreeMap<>())
+        .computeIfAbsent(message, m -> new ArrayList<>())
+        .add(pointer);
+  }
+
+  /** The errors of a single document. A view is only used by one thread at a time. */
+  final class Document {
+    private final String name;
+
+    private boolean failed;
+
+    private Document(String name) {
+      this.name = name;
+    }
+
+    /**
+     * Record that the example at a site could not be resolved.
+     *
+     * @param pointer The JSON pointer of the site.
+     * @param message Why the example could not be resolved.
+     */
+    void add(String pointer, String message) {
+      failed = true;
+      ResolutionErrors.this.add(name, pointer, message);
+    }
+
+    /**
+     * Throw every error recorded so far, including those of other documents.
+     *
+     * @throws MojoExecutionException listing each error and its sites.
+     */
+    void check() throws MojoExecutionException {
+      ResolutionErrors.this.check();
+    }
+
+    /**
+     * Return whether an error was recorded for this document.
+     *
+     * @return true if the document must not be written.
+     */
+    boolean isFailed() {
+      return failed;
+    }
+  }
+}
@@ -0,0 +1,238 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import gov.va.plugin.maven.swagger.ExampleLimits.Policy;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Enforces {@link ExampleLimits} for the examples injected into a single document.
+ *
+ * <p>Examples are measured once when they are produced. Each site they are injected into is
+ * recorded, and the limits are checked when the document is finished so the worst offenders can be
+ * reported together.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class SizeGuard {
+  /** Number of examples listed when a limit is exceeded. */
+  private static final int WORST_OFFENDERS = 5;
+
+  private final ExampleLimits limits;
+
+  /** Name of the document, used in reports. */
+  private final String document;
+
+  /** Examples injected into the document, keyed by source. */
+  private final Map<String, Usage> usages = new LinkedHashMap<>();
+
+  /**
+   * Copy the current structure of a parser, keeping at most n elements of each array.
+   *
+   * @param parser The parser, positioned on the first token of the structure.
+   * @param generator The generator to write to.
+   * @param n The number of elements to keep.
+   * @throws IOException if the structure can not be copied.
+   */
+  static void copyTruncated(JsonParser parser, JsonGenerator generator, int n) throws IOException {
+    switch (parser.currentToken()) {
+      case START_OBJECT:
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          generator.writeFieldName(parser.getCurrentName());
+          parser.nextToken();
+          copyTruncated(parser, generator, n);
+        }
+        generator.writeEndObject();
+        return;
+      case START_ARRAY:
+        generator.writeStartArray();
+        for (int index = 0; parser.nextToken() != JsonToken.END_ARRAY; index++) {
+          if (index < n) {
+            copyTruncated(parser, generator, n);
+          } else {
+            parser.skipChildren();
+          }
+        }
+        generator.writeEndArray();
+        return;
+      default:
+        generator.copyCurrentEvent(parser);
+    }
+  }
+
+  /**
+   * Measure an example.
+   *
+   * @param example The example.
+   * @param mapper A JSON mapper.
+   * @return the size of the example as compact JSON.
+   * @throws IOException if the example can not be written.
+   */
+  static Size measure(JsonNode example, ObjectMapper mapper) throws IOException {
+    try (CountingOutputStream out = new CountingOutputStream(NullOutputStream.NULL_OUTPUT_STREAM)) {
+      mapper.writeValue(out, example);
+      return new Size(out.getByteCount(), nodes(example));
+    }
+  }
+
+  /**
+   * Measure an example that has been written to a file as compact JSON.
+   *
+   * @param file The file.
+   * @param factory A JSON factory.
+   * @return the size of the example.
+   * @throws IOException if the file can not be read.
+   */
+  static Size measure(File file, JsonFactory factory) throws IOException {
+    long nodes = 0;
+    try (JsonParser parser = factory.createParser(file)) {
+      for (JsonToken token = parser.nextToken(); token != null; token = parser.nextToken()) {
+        if (token != JsonToken.FIELD_NAME && !token.isStructEnd()) {
+          nodes++;
+        }
+      }
+    }
+    return new Size(file.length(), nodes);
+  }
+
+  private static long nodes(JsonNode node) {
+    long nodes = 1;
+    for (JsonNode child : node) {
+      nodes += nodes(child);
+    }
+    return nodes;
+  }
+
+  /**
+   * Return a copy of an example, keeping at most n elements of each array.
+   *
+   * @param example The example, which is left untouched.
+   * @param n The number of elements to keep.
+   * @return the truncated copy.
+   */
+  static JsonNode truncate(JsonNode example, int n) {
+    JsonNode copy = example.deepCopy();
+    truncateInPlace(copy, n);
+    return copy;
+  }
+
+  private static void truncateInPlace(JsonNode node, int n) {
+    if (node.isArray()) {
+      ArrayNode array = (ArrayNode) node;
+      while (array.size() > n) {
+        array.remove(array.size() - 1);
+      }
+    }
+    for (JsonNode child : node) {
+      truncateInPlace(child, n);
+    }
+  }
+
+  /**
+   * Check the limits of every example injected into the document. Examples that exceed a limit are
+   * reported, worst (largest total contribution) first.
+   *
+   * @throws MojoExecutionException if a limit is exceeded and the policy is to fail.
+   */
+  void finish() throws MojoExecutionException {
+    List<String> problems = new ArrayList<>();
+    long total = 0;
+    for (Usage usage : usages.values()) {
+      total += usage.total();
+      if (limits.exceeds(usage.getSize().getBytes(), usage.getSize().getNodes())) {
+        problems.add("Example [" + usage.getKey() + "] exceeds the per-example limit");
+      }
+    }
+    if (limits.getMaxTotalBytes() > 0 && total > limits.getMaxTotalBytes()) {
+      problems.add(
+          "Examples total "
+              + FileUtils.byteCountToDisplaySize(total)
+              + ", exceeding the limit of "
+              + FileUtils.byteCountToDisplaySize(limits.getMaxTotalBytes()));
+    }
+    if (problems.isEmpty()) {
+      return;
+    }
+    String worst =
+        usages.values().stream()
+            .sorted(Comparator.comparingLong(Usage::total).reversed())
+            .limit(WORST_OFFENDERS)
+            .map(Usage::toString)
+            .collect(Collectors.joining("\n  ", "\n  ", ""));
+    String message =
+        "Example size limits exceeded in " + document + ": " + String.join("; ", problems) + worst;
+    if (limits.getPolicy() == Policy.FAIL) {
+      throw new MojoExecutionException(message);
+    }
+    log.warn(message);
+  }
+
+  /**
+   * Record that an example was injected at a site of the document.
+   *
+   * @param key The example key.
+   * @param source The example source.
+   * @param size The size of the example, or null if it was not measured.
+   */
+  void record(String key, String source, Size size) {
+    if (size == null) {
+      return;
+    }
+    usages.computeIfAbsent(source, s -> new Usage(key, size, 0)).sites++;
+  }
+
+  /** The size of an example as compact JSON. */
+  @Value
+  static class Size {
+    long bytes;
+
+    long nodes;
+
+    @Override
+    public String toString() {
+      return FileUtils.byteCountToDisplaySize(bytes) + " (" + nodes + " nodes)";
+    }
+  }
+
+  /** An example and the number of sites it was injected into. */
+  @Getter
+  @AllArgsConstructor
+  private static class Usage {
+    private final String key;
+
+    private final Size size;
+
+    private int sites;
+
+    long total() {
+      return size.getBytes() * sites;
+    }
+
+    @Override
+    public String toString() {
+      return "[" + key + "] " + size + " x " + sites + " site(s)";
+    }
+  }
+}
@@ -0,0 +1,167 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import lombok.Setter;
+import org.apache.commons.io.FilenameUtils;
+import org.apache.maven.artifact.DependencyResolutionRequiredException;
+import org.apache.maven.plugin.AbstractMojo;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.LifecyclePhase;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.util.DirectoryScanner;
+
+/**
+ * Maven Mojo that evaluates the examples of an example library ahead of time. It is intended to run
+ * in the library's own build, so projects that inject its examples do not need the library's
+ * dependencies (e.g. model classes) on the plugin's class path.
+ *
+ * <p>Every public static method without parameters of the selected classes is invoked, and the
+ * results are written to <code>META-INF/swagger-examples/package.Class.json</code> in the output
+ * directory, to be packaged with the library. The inject goal reads examples from these snapshots
+ * before falling back to reflection.
+ *
+ * <p>Methods that return null are skipped, so they fail as usual if they are injected.
+ */
+@Setter
+@Mojo(
+    name = "snapshot",
+    defaultPhase = LifecyclePhase.PROCESS_CLASSES,
+    requiresDependencyResolution = ResolutionScope.COMPILE)
+public class SnapshotMojo extends AbstractMojo {
+  /** Classes to snapshot if no includes are configured. */
+  static final String DEFAULT_INCLUDES = "**/*Examples.class";
+
+  /**
+   * Ant-style patterns of class files in the output directory to snapshot. Defaults to <code>
+   * &#42;&#42;/&#42;Examples.class</code>.
+   */
+  @Parameter(property = "snapshotIncludes")
+  private List<String> includes;
+
+  /** Ant-style patterns of class files in the output directory to exclude. */
+  @Parameter(property = "snapshotExcludes")
+  private List<String> excludes;
+
+  @Parameter(defaultValue = "${project}", required = true, readonly = true)
+  private MavenProject project;
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    File outputDirectory = new File(project.getBuild().getOutputDirectory());
+    if (!outputDirectory.isDirectory()) {
+      getLog().info("Skipping snapshot, output directory does not exist: " + outputDirectory);
+      return;
+    }
+    ObjectMapper mapper = Format.JSON.getMapper();
+    ClassLoader classLoader = getClasspath();
+    for (String className : classNames(outputDirectory)) {
+      try {
+        snapshot(mapper, classLoader.loadClass(className), outputDirectory);
+      } catch (ReflectiveOperationException | LinkageError e) {
+        throw new MojoExecutionException("Failed to snapshot examples of " + className, e);
+      } catch (IOException e) {
+        throw new MojoExecutionException("Error while processing file", e);
+      }
+    }
+  }
+
+  /**
+   * Get the names of the classes to snapshot, sorted.
+   *
+   * @param outputDirectory The directory to scan.
+   * @return a non-null List of class names.
+   */
+  List<String> classNames(File outputDirectory) {
+    DirectoryScanner scanner = new DirectoryScanner();
+    scanner.setBasedir(outputDirectory);
+    scanner.setIncludes(
+        includes == null || includes.isEmpty()
+            ? new String[] {DEFAULT_INCLUDES}
+            : includes.toArray(new String[0]));
+    if (excludes != null) {
+      scanner.setExcludes(excludes.toArray(new String[0]));
+    }
+    scanner.scan();
+    List<String> classNames = new ArrayList<>();
+    for (String file : scanner.getIncludedFiles()) {
+      String className = FilenameUtils.removeExtension(FilenameUtils.separatorsToUnix(file));
+      if (!className.contains("$")) {
+        classNames.add(className.replace('/', '.'));
+      }
+    }
+    classNames.sort(Comparator.naturalOrder());
+    return classNames;
+  }
+
+  /**
+   * Build a ClassLoader of the project's compile class path, which includes its output directory
+   * and dependencies.
+   *
+   * @return a custom ClassLoader.
+   */
+  private ClassLoader getClasspath() throws MojoFailureException {
+    try {
+      List<URL> urls = new ArrayList<>();
+      for (String element : project.getCompileClasspathElements()) {
+        urls.add(new File(element).toURI().toURL());
+      }
+      return URLClassLoader.newInstance(urls.toArray(new URL[0]), getClass().getClassLoader());
+    } catch (DependencyResolutionRequiredException | MalformedURLException e) {
+      throw new MojoFailureException("Unable to build custom ClassLoader", e);
+    }
+  }
+
+  /**
+   * Invoke the examples of a class and write them to its snapshot. Classes without examples are
+   * skipped.
+   *
+   * @param mapper The mapper used to convert and write examples.
+   * @param clazz The class.
+   * @param outputDirectory The output directory.
+   */
+  private void snapshot(ObjectMapper mapper, Class<?> clazz, File outputDirectory)
+      throws ReflectiveOperationException, IOException {
+    ObjectNode snapshot = mapper.createObjectNode();
+    Method[] methods = clazz.getMethods();
+    Arrays.sort(methods, Comparator.comparing(Method::getName));
+    for (Method method : methods) {
+      if (!Modifier.isStatic(method.getModifiers())
+          || method.getParameterCount() != 0
+          || method.getReturnType() == void.class
+          || method.getDeclaringClass() != clazz) {
+        continue;
+      }
+      Object example = method.invoke(null);
+      if (example == null) {
+        getLog().warn("Skipping " + clazz.getName() + "#" + method.getName() + ", example is null");
+        continue;
+      }
+      snapshot.set(method.getName(), mapper.readTree(mapper.writeValueAsBytes(example)));
+    }
+    if (snapshot.isEmpty()) {
+      getLog().debug("Skipping " + clazz.getName() + ", no examples");
+      return;
+    }
+    File file = new File(outputDirectory, ExampleInjector.snapshotResource(clazz.getName()));
+    file.getParentFile().mkdirs();
+    mapper.writeValue(file, snapshot);
+    getLog().info("Wrote " + snapshot.size() + " example(s) of " + clazz.getName());
+  }
+}
@@ -0,0 +1,281 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import gov.va.plugin.maven.swagger.ExampleInjector.IoStrategy;
+import gov.va.plugin.maven.swagger.InjectionPlan.Target;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.apache.commons.io.input.BoundedInputStream;
+import org.apache.maven.plugin.MojoExecutionException;
+
+/**
+ * Rewrites a document token by token, injecting examples without parsing the document into a tree.
+ * This is used for documents that do not fit within the memory budget.
+ *
+ * <p>The output matches the in-memory path: examples are only replaced in fields named <code>
+ * example</code> (their content is copied as is), and the children of <code>paths</code> and <code>
+ * components.schemas</code> are sorted. Sorting is done by writing each child to a temporary file
+ * and copying them back in order, so only the names of the children are held in memory.
+ *
+ * <p>Targets of the {@link InjectionPlan} are found by comparing the pointer of each object and
+ * array with the parents of the plan's targets. Targets that an object does not have yet are added
+ * after its other fields.
+ */
+@AllArgsConstructor
+class StreamingInjector {
+  /** JSON/YAML key node for examples. */
+  private static final String EXAMPLE_KEY = "example";
+
+  /** JSON pointers of the objects whose children are sorted. */
+  private static final Set<String> SORTED = Set.of("/paths", "/components/schemas");
+
+  /** Factory for the format of the document. */
+  private final JsonFactory factory;
+
+  /** Mapper for the format of the output. */
+  private final ObjectMapper outputMapper;
+
+  /** Format of the output. */
+  private final Format outputFormat;
+
+  /** How the document and output are read and written. */
+  private final IoStrategy io;
+
+  /** Examples placed at JSON pointers. */
+  private final InjectionPlan plan;
+
+  /** Factory for temporary files. */
+  private final JsonFactory spillFactory;
+
+  /** Writer for examples. */
+  private final ExampleWriter examples;
+
+  /** Targets that have been written. */
+  private final Set<Target> written = new HashSet<>();
+
+  /**
+   * Escape a name as a segment of a JSON pointer.
+   *
+   * @param name The name.
+   * @return the segment.
+   */
+  static String escape(String name) {
+    return name.replace("~", "~0").replace("/", "~1");
+  }
+
+  private void copy(JsonParser parser, JsonGenerator generator, String pointer)
+      throws IOException, MojoExecutionException {
+    switch (parser.currentToken()) {
+      case START_OBJECT:
+        if (SORTED.contains(pointer)) {
+          copySorted(parser, generator, pointer);
+          return;
+        }
+        generator.writeStartObject();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String name = parser.getCurrentName();
+          parser.nextToken();
+          generator.writeFieldName(name);
+          copyField(parser, generator, pointer, name);
+        }
+        for (Target target : plan.children(pointer).values()) {
+          if (!written.contains(target)) {
+            generator.writeFieldName(target.getName());
+            writeTarget(target, generator);
+          }
+        }
+        generator.writeEndObject();
+        return;
+      case START_ARRAY:
+        Map<String, Target> targets = plan.children(pointer);
+        generator.writeStartArray();
+        int index = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+          Target target = targets.get(String.valueOf(index));
+          if (target == null) {
+            copy(parser, generator, pointer + "/" + index);
+          } else {
+            parser.skipChildren();
+            writeTarget(target, generator);
+          }
+          index++;
+        }
+        generator.writeEndArray();
+        return;
+      default:
+        generator.copyCurrentEvent(parser);
+    }
+  }
+
+  private void copyField(JsonParser parser, JsonGenerator generator, String pointer, String name)
+      throws IOException, MojoExecutionException {
+    Target target = plan.children(pointer).get(name);
+    if (target != null) {
+      parser.skipChildren();
+      writeTarget(target, generator);
+    } else if (!EXAMPLE_KEY.equals(name)) {
+      copy(parser, generator, pointer + "/" + escape(name));
+    } else if (parser.currentToken() != JsonToken.VALUE_STRING
+        || !examples.write(parser.getText(), pointer + "/" + EXAMPLE_KEY, generator)) {
+      generator.copyCurrentStructure(parser);
+    }
+  }
+
+  /**
+   * Copy an object, sorting its children (case-insensitive) like the in-memory path.
+   *
+   * <p>Each child is written to a temporary file and its location is recorded. The children are
+   * then copied back from the temporary file in order.
+   */
+  private void copySorted(JsonParser parser, JsonGenerator generator, String pointer)
+      throws IOException, MojoExecutionException {
+    File spill = File.createTempFile("swagger-examples", ".json");
+    try {
+      List<Child> children = new ArrayList<>();
+      try (FileOutputStream out = new FileOutputStream(spill);
+          JsonGenerator spillGenerator = spillFactory.createGenerator(out)) {
+        FileChannel channel = out.getChannel();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+          String name = parser.getCurrentName();
+          parser.nextToken();
+          long start = channel.position();
+          copyField(parser, spillGenerator, pointer, name);
+          spillGenerator.flush();
+          children.add(new Child(name, start, channel.position() - start));
+        }
+        for (Target target : plan.children(pointer).values()) {
+          if (!written.contains(target)) {
+            long start = channel.position();
+            writeTarget(target, spillGenerator);
+            spillGenerator.flush();
+            children.add(new Child(target.getName(), start, channel.position() - start));
+          }
+        }
+      }
+      children.sort((left, right) -> left.getName().compareToIgnoreCase(right.getName()));
+      generator.writeStartObject();
+      try (RandomAccessFile in = new RandomAccessFile(spill, "r")) {
+        for (Child child : children) {
+          generator.writeFieldName(child.getName());
+          in.getChannel().position(child.getStart());
+          BoundedInputStream bounded =
+              new BoundedInputStream(Channels.newInputStream(in.getChannel()), child.getLength());
+          bounded.setPropagateClose(false);
+          try (JsonParser childParser = spillFactory.createParser(bounded)) {
+            childParser.nextToken();
+            generator.copyCurrentStructure(childParser);
+          }
+        }
+      }
+      generator.writeEndObject();
+    } finally {
+      Files.deleteIfExists(spill.toPath());
+    }
+  }
+
+  /**
+   * Return the targets of the plan that were not found in the document.
+   *
+   * @return the targets, in configuration order.
+   */
+  List<Target> missingTargets() {
+    List<Target> missing = new ArrayList<>(plan.getTargets());
+    missing.removeAll(written);
+    return missing;
+  }
+
+  /**
+   * Rewrite a file, injecting examples.
+   *
+   * <p>The result is written to a temporary file next to the output, which is then replaced unless
+   * the example writer declines it. The output may be the file itself.
+   *
+   * @param file The file to read.
+   * @param output The file to write.
+   * @return false if the output was not replaced.
+   * @throws IOException if a file related exception occurs.
+   * @throws MojoExecutionException if an example can not be resolved, or the example writer does
+   *     not finish.
+   */
+  boolean rewrite(File file, File output) throws IOException, MojoExecutionException {
+    File directory = output.getAbsoluteFile().getParentFile();
+    directory.mkdirs();
+    File temp = File.createTempFile("swagger-examples", ".tmp", directory);
+    try {
+      try (JsonParser parser = factory.createParser(io.input(file));
+          JsonGenerator generator = outputFormat.createGenerator(outputMapper, io.output(temp))) {
+        if (parser.nextToken() != null) {
+          copy(parser, generator, "");
+        }
+      }
+      if (!examples.finish()) {
+        return false;
+      }
+      Files.move(temp.toPath(), output.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      return true;
+    } finally {
+      Files.deleteIfExists(temp.toPath());
+    }
+  }
+
+  private void writeTarget(Target target, JsonGenerator generator)
+      throws IOException, MojoExecutionException {
+    examples.write(target.placeholder(), target.getPointer(), generator);
+    written.add(target);
+  }
+
+  /** Writes examples for placeholders. */
+  @FunctionalInterface
+  interface ExampleWriter {
+    /**
+     * Write the example for a placeholder.
+     *
+     * @param placeholder The placeholder.
+     * @param pointer The JSON pointer of the site, for errors.
+     * @param generator The generator to write to.
+     * @return false if the placeholder does not refer to an example and nothing was written.
+     * @throws IOException if the example can not be written.
+     * @throws MojoExecutionException if the example can not be resolved.
+     */
+    boolean write(String placeholder, String pointer, JsonGenerator generator)
+        throws IOException, MojoExecutionException;
+
+    /**
+     * Called once every example has been written, before the output is replaced.
+     *
+     * @return false if the output should not be replaced.
+     * @throws MojoExecutionException if the build should fail.
+     */
+    default boolean finish() throws MojoExecutionException {
+      return true;
+    }
+  }
+
+  /** A child of a sorted object, located in the temporary file. */
+  @Value
+  private static class Child {
+    String name;
+
+    long start;
+
+    long length;
+  }
+}
@@ -1,17 +1,32 @@
 package gov.va.plugin.maven.swagger;
 
+import gov.va.plugin.maven.swagger.BuildMetrics.ModuleMetrics;
 import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import gov.va.plugin.maven.swagger.ExampleInjector.IoStrategy;
+import gov.va.plugin.maven.swagger.ExampleLimits.Policy;
+import gov.va.plugin.maven.swagger.InjectionPlan.Target;
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import lombok.Setter;
+import lombok.Value;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.maven.model.FileSet;
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
@@ -21,6 +36,7 @@ import org.apache.maven.plugins.annotations.Parameter;
 import org.apache.maven.plugins.annotations.ResolutionScope;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.codehaus.plexus.util.DirectoryScanner;
 
 /**
  * Maven Mojo that injects examples into a Swagger/OpenAPI artifact. This plugin may be extended in
@@ -31,7 +47,8 @@ import org.codehaus.plexus.configuration.PlexusConfiguration;
  * load resources on the plugin's classpath.
  *
  * <p>Default examples can be overridden by configuration which specifies a key and a source (<code>
- * package.Class#method</code>).
+ * package.Class#method</code>). An override with a target (a JSON pointer) is also injected at the
+ * target, without a placeholder.
  *
  * <p>Any examples that can not be loaded will be skipped to ensure backwards compatibility with
  * previous <code>SWAGGER_EXAMPLE_*</code> patterns. The only exception to this is an override that
@@ -51,60 +68,365 @@ public class SwaggerMojo extends AbstractMojo {
       Map.of("openapi.json", Format.JSON, "openapi.yaml", Format.YAML);
 
   @Parameter(property = "examples")
-  private List<PlexusConfiguration> examples;
+  private List<PlexusConfiguration> examples = new ArrayList<>();
 
   @Parameter(property = "files")
-  private List<PlexusConfiguration> files;
+  private List<PlexusConfiguration> files = new ArrayList<>();
+
+  /**
+   * Sets of files to process, selected with Ant-style include and exclude patterns (e.g. <code>
+   * specs/&#42;&#42;/openapi-&#42;.json</code>). The directory defaults to the project's output
+   * directory, and the format of each file is inferred from its extension.
+   */
+  @Parameter(property = "fileSets")
+  private List<FileSet> fileSets;
+
+  /**
+   * Heap a parsed file may use (e.g. <code>256m</code>). Files that would exceed it are rewritten
+   * by streaming instead of being parsed into memory. Unlimited if omitted.
+   */
+  @Parameter(property = "memoryBudget")
+  private String memoryBudget;
+
+  /**
+   * Write YAML without a document start marker, quoting strings only when needed and writing
+   * multi-line strings as literal blocks.
+   */
+  @Parameter(property = "minimalYaml", defaultValue = "false")
+  private boolean minimalYaml;
+
+  /**
+   * How files are read and written: <code>stream</code> (default) or <code>mapped</code> (memory
+   * mapped input and direct buffer output, for large files).
+   */
+  @Parameter(property = "ioStrategy", defaultValue = "stream")
+  private String ioStrategy;
+
+  /** Bytes of a single example, as compact JSON (e.g. <code>512k</code>). Unlimited if omitted. */
+  @Parameter(property = "maxExampleSize")
+  private String maxExampleSize;
+
+  /** Nodes (objects, arrays and values) of a single example. Unlimited if omitted. */
+  @Parameter(property = "maxExampleNodes")
+  private Long maxExampleNodes;
+
+  /**
+   * Bytes of all examples injected into a file, counting each site (e.g. <code>5m</code>).
+   * Unlimited if omitted.
+   */
+  @Parameter(property = "maxExamplesSize")
+  private String maxExamplesSize;
+
+  /**
+   * What to do when an example size limit is exceeded: <code>warn</code>, <code>fail</code> or
+   * <code>truncate</code> (arrays of examples that exceed a per-example limit are truncated).
+   */
+  @Parameter(property = "exampleSizePolicy", defaultValue = "warn")
+  private String exampleSizePolicy;
+
+  /** Elements kept in each array of an example when truncating. */
+  @Parameter(property = "truncateArraysTo", defaultValue = "10")
+  private int truncateArraysTo;
+
+  /**
+   * Directory of baseline documents (e.g. the last published ones). Each injected document is
+   * compared with the baseline of the same name, and the differences are written to the diff
+   * report. Nothing is compared if omitted.
+   */
+  @Parameter(property = "diffBaseline")
+  private File diffBaseline;
+
+  /** Where the differences from the baseline are written, as compact JSON. */
+  @Parameter(
+      property = "diffReport",
+      defaultValue = "${project.build.directory}/swagger-examples-diff.json")
+  private File diffReport;
+
+  /**
+   * OpenMetrics text file to write counters and durations to, labeled by module and file (e.g.
+   * <code>${project.build.directory}/swagger-examples.prom</code>). Nothing is written if omitted.
+   */
+  @Parameter(property = "metricsFile")
+  private File metricsFile;
 
   @Parameter(defaultValue = "${project}", required = true, readonly = true)
   private MavenProject project;
 
   private ExampleInjector exampleInjector;
 
+  /** Paths of the files found by file sets, relative to the file set's directory (file:path). */
+  private final Map<File, String> fileSetPaths = new ConcurrentHashMap<>();
+
   @Override
   public void execute() throws MojoExecutionException, MojoFailureException {
+    validate();
+    ExampleInjector injector = getExampleInjector(getClasspath(), overrides());
+    DiffReport diff = diff();
+    injector.setDiff(diff);
+    Map<File, Format> files = files();
+    name(diff, files.keySet());
+    BuildMetrics metrics = metrics();
+    injector.setMetrics(metrics(metrics));
+    ResolutionErrors errors = new ResolutionErrors();
+    injector.setErrors(errors);
+    try {
+      Map<File, Output> outputs = outputs();
+      for (Map.Entry<File, Format> file : files.entrySet()) {
+        Output output =
+            outputs.getOrDefault(file.getKey(), new Output(file.getKey(), file.getValue()));
+        injector.injectSwaggerExamples(
+            file.getKey(), file.getValue(), output.getFile(), output.getFormat());
+      }
+      errors.check();
+    } finally {
+      writeMetrics(metrics);
+    }
+    writeDiff(diff);
+    reportUnusedOverrides(injector.unusedOverrides());
+  }
+
+  /**
+   * Create metrics if a metrics file is configured.
+   *
+   * @return the metrics, which record nothing if no file is configured.
+   */
+  BuildMetrics metrics() {
+    return metricsFile == null ? BuildMetrics.NONE : new BuildMetrics();
+  }
+
+  /**
+   * Get the view of the current project's files.
+   *
+   * @param metrics The metrics.
+   * @return the view.
+   */
+  ModuleMetrics metrics(BuildMetrics metrics) {
+    return metrics(metrics, project);
+  }
+
+  /**
+   * Get the view of a project's files, labeled by its artifact id.
+   *
+   * @param metrics The metrics.
+   * @param project The project.
+   * @return the view.
+   */
+  static ModuleMetrics metrics(BuildMetrics metrics, MavenProject project) {
+    return metrics.module(project.getArtifactId(), project.getBasedir());
+  }
+
+  /**
+   * Write metrics, including those of files that failed. Metrics are not part of the build's
+   * output, so failing to write them is only logged.
+   *
+   * @param metrics The metrics.
+   */
+  void writeMetrics(BuildMetrics metrics) {
+    if (metricsFile == null) {
+      return;
+    }
+    try {
+      metrics.write(metricsFile);
+    } catch (IOException e) {
+      getLog().warn("Unable to write metrics to " + metricsFile + ": " + e.getMessage());
+    }
+  }
+
+  /**
+   * Name the files of the current project and their outputs in a diff report.
+   *
+   * @param diff The report (may be null).
+   * @param files The files.
+   * @see #name(DiffReport, MavenProject, Collection, String)
+   */
+  void name(DiffReport diff, Collection<File> files) {
+    name(diff, project, files, "");
+  }
+
+  /**
+   * Name the files of a project and their outputs in a diff report, so files with the same name in
+   * different directories are compared with their own baselines. Files found by a file set are
+   * named by their path relative to its directory, and other files by their path relative to the
+   * project's output directory, or else its base directory.
+   *
+   * @param diff The report (may be null).
+   * @param project The project.
+   * @param files The files of the project.
+   * @param prefix Prefix of each name (e.g. <code>module/</code>), or empty.
+   */
+  void name(DiffReport diff, MavenProject project, Collection<File> files, String prefix) {
+    if (diff == null) {
+      return;
+    }
+    Map<File, Output> outputs = outputs(project);
+    for (File file : files) {
+      String path = fileSetPaths.get(file);
+      diff.name(file, prefix + (path == null ? relative(project, file) : path));
+      Output output = outputs.get(file);
+      if (output != null) {
+        diff.name(output.getFile(), prefix + relative(project, output.getFile()));
+      }
+    }
+  }
+
+  /**
+   * Get the prefix of the names of a project's documents in the diff report: the project's
+   * directory relative to the current project's (e.g. <code>module/</code>), or else its artifact
+   * id, so the documents of different projects have their own baselines.
+   *
+   * @param project The project.
+   * @return the prefix, or empty for the current project itself.
+   */
+  String diffPrefix(MavenProject project) {
+    File root = this.project.getBasedir();
+    if (root == null || project.getBasedir() == null || root.equals(project.getBasedir())) {
+      return "";
+    }
+    if (!key(project.getBasedir()).startsWith(key(root))) {
+      return project.getArtifactId() + "/";
+    }
+    return relative(root, project.getBasedir()) + "/";
+  }
+
+  /**
+   * Get the path of a file relative to the project's output directory if it is within it, or else
+   * relative to its base directory if it is within that, or else the file's name.
+   *
+   * @param project The project.
+   * @param file The file.
+   * @return the path, with <code>/</code> separators.
+   */
+  static String relative(MavenProject project, File file) {
+    if (project.getBuild() != null && project.getBuild().getOutputDirectory() != null) {
+      File outputDirectory = outputDirectory(project);
+      if (key(file).startsWith(key(outputDirectory))) {
+        return relative(outputDirectory, file);
+      }
+    }
+    if (project.getBasedir() != null && key(file).startsWith(key(project.getBasedir()))) {
+      return relative(project.getBasedir(), file);
+    }
+    return file.getName();
+  }
+
+  private static String relative(File directory, File file) {
+    return key(directory).relativize(key(file)).toString().replace('\\', '/');
+  }
+
+  private static Path key(File file) {
+    return file.getAbsoluteFile().toPath().normalize();
+  }
+
+  /**
+   * Create a diff report if a baseline is configured.
+   *
+   * @return the report, or null if nothing is compared.
+   */
+  DiffReport diff() {
+    return diffBaseline == null ? null : new DiffReport(diffBaseline);
+  }
+
+  /**
+   * Write a diff report, if there is one.
+   *
+   * @param diff The report (may be null).
+   * @throws MojoExecutionException if the report can not be written.
+   */
+  void writeDiff(DiffReport diff) throws MojoExecutionException {
+    if (diff == null) {
+      return;
+    }
+    if (!diff.getBaseline().isDirectory()) {
+      getLog().warn("Diff baseline does not exist: " + diff.getBaseline());
+    }
+    try {
+      diff.write(diffReport);
+    } catch (IOException e) {
+      throw new MojoExecutionException("Unable to write " + diffReport, e);
+    }
+  }
+
+  /**
+   * Validate the plugin's configuration.
+   *
+   * @throws MojoExecutionException if a file or example is not configured correctly.
+   */
+  void validate() throws MojoExecutionException {
     for (PlexusConfiguration file : files) {
       if (StringUtils.isBlank(file.getAttribute("file"))) {
         throw new MojoExecutionException("File and format must not be blank");
       }
-      /* File format is optional, but should be valid if provided */
-      String fileFormat = file.getAttribute("format");
-      if (StringUtils.isNotBlank(fileFormat)) {
-        if (Format.lookup(fileFormat) == null) {
-          throw new MojoExecutionException("Unrecognized file format: " + fileFormat);
+      /* File formats are optional, but should be valid if provided */
+      for (String fileFormat : List.of("format", "outputFormat")) {
+        String value = file.getAttribute(fileFormat);
+        if (StringUtils.isNotBlank(value) && Format.lookup(value) == null) {
+          throw new MojoExecutionException("Unrecognized file format: " + value);
         }
       }
     }
+    if (StringUtils.isNotBlank(ioStrategy) && IoStrategy.lookup(ioStrategy) == null) {
+      throw new MojoExecutionException("Unrecognized I/O strategy: " + ioStrategy);
+    }
+    if (StringUtils.isNotBlank(exampleSizePolicy) && Policy.lookup(exampleSizePolicy) == null) {
+      throw new MojoExecutionException("Unrecognized example size policy: " + exampleSizePolicy);
+    }
+    Map<String, String> sources = new HashMap<>();
     for (PlexusConfiguration example : examples) {
-      if (StringUtils.isAnyBlank(example.getAttribute("key"), example.getAttribute("source"))) {
+      String key = example.getAttribute("key");
+      String source = example.getAttribute("source");
+      if (StringUtils.isAnyBlank(key, source)) {
         throw new MojoExecutionException("Example key and source must not be blank");
       }
+      if (!source.equals(sources.computeIfAbsent(key, k -> source))) {
+        throw new MojoExecutionException("Example [" + key + "] has more than one source");
+      }
     }
-    for (Map.Entry<File, Format> file : files().entrySet()) {
-      getExampleInjector(getClasspath(), overrides())
-          .injectSwaggerExamples(file.getKey(), file.getValue());
-    }
+    plan();
   }
 
   /**
    * Get a Map of files (file:format) to process.
    *
+   * <p>Files matched by file sets are sorted by path. Matches with an unrecognized extension are
+   * skipped.
+   *
    * <p>If no files are referenced in the plugin's configuration, use the defaults.
    *
    * @return a non-null Map of files and formats.
    */
   Map<File, Format> files() {
-    Map<File, Format> fileMap = new HashMap<>();
+    return files(project);
+  }
+
+  /**
+   * Get a Map of files (file:format) to process for a project. Relative paths are resolved against
+   * the project's base directory.
+   *
+   * @param project The project.
+   * @return a non-null Map of files and formats.
+   * @see #files()
+   */
+  Map<File, Format> files(MavenProject project) {
+    Map<File, Format> fileMap = new LinkedHashMap<>();
     for (PlexusConfiguration file : files) {
       fileMap.put(
-          Paths.get(file.getAttribute("file")).toFile(),
-          Format.lookup(file.getAttribute("format")));
+          file(project, file.getAttribute("file")), Format.lookup(file.getAttribute("format")));
+    }
+    if (fileSets != null) {
+      for (FileSet fileSet : fileSets) {
+        for (File file : scan(project, fileSet)) {
+          Format format = Format.lookup(FilenameUtils.getExtension(file.getName()));
+          if (format == null) {
+            getLog().debug("Skipping " + file + ", unrecognized file format");
+          } else if (fileMap.putIfAbsent(file, format) == null) {
+            fileSetPaths.put(file, relative(directory(project, fileSet), file));
+          }
+        }
+      }
     }
     if (fileMap.isEmpty()) {
       for (Map.Entry<String, Format> file : DEFAULT_FILES.entrySet()) {
-        fileMap.put(
-            new File(project.getBuild().getOutputDirectory() + "/" + file.getKey()),
-            file.getValue());
+        fileMap.put(new File(outputDirectory(project) + "/" + file.getKey()), file.getValue());
       }
     }
     return fileMap;
@@ -118,29 +440,247 @@ public class SwaggerMojo extends AbstractMojo {
    * @return a custom ClassLoader.
    */
   ClassLoader getClasspath() throws MojoFailureException {
+    return getClasspath(project);
+  }
+
+  /**
+   * Build a custom ClassLoader that includes the target directory of a project.
+   *
+   * @param project The project.
+   * @return a custom ClassLoader.
+   * @see #getClasspath()
+   */
+  ClassLoader getClasspath(MavenProject project) throws MojoFailureException {
     try {
-      URL u = new File(project.getBuild().getOutputDirectory()).toURI().toURL();
+      URL u = outputDirectory(project).toURI().toURL();
       return URLClassLoader.newInstance(new URL[] {u}, this.getClass().getClassLoader());
     } catch (MalformedURLException e) {
       throw new MojoFailureException("Unable to build custom ClassLoader", e);
     }
   }
 
+  /**
+   * Parse a size with an optional <code>k</code>, <code>m</code> or <code>g</code> suffix.
+   *
+   * @param size The size (e.g. <code>256m</code>).
+   * @return the size in bytes.
+   * @throws MojoExecutionException if the size is not valid.
+   */
+  static long bytes(String size) throws MojoExecutionException {
+    String value = StringUtils.lowerCase(StringUtils.trimToEmpty(size));
+    int shift = 0;
+    if (value.endsWith("k")) {
+      shift = 10;
+    } else if (value.endsWith("m")) {
+      shift = 20;
+    } else if (value.endsWith("g")) {
+      shift = 30;
+    }
+    if (shift != 0) {
+      value = value.substring(0, value.length() - 1);
+    }
+    try {
+      return Long.parseLong(value) << shift;
+    } catch (NumberFormatException e) {
+      throw new MojoExecutionException("Invalid size: " + size, e);
+    }
+  }
+
   /* Lazy initialization */
-  ExampleInjector getExampleInjector(ClassLoader classLoader, Map<String, String> overrides) {
+  ExampleInjector getExampleInjector(ClassLoader classLoader, Map<String, String> overrides)
+      throws MojoExecutionException {
     if (this.exampleInjector == null) {
       this.exampleInjector = new ExampleInjector(classLoader, overrides);
+      if (StringUtils.isNotBlank(memoryBudget)) {
+        exampleInjector.setMemoryBudget(bytes(memoryBudget));
+      }
+      exampleInjector.setMinimalYaml(minimalYaml);
+      exampleInjector.setLimits(limits());
+      if (StringUtils.isNotBlank(ioStrategy)) {
+        exampleInjector.setIo(IoStrategy.lookup(ioStrategy));
+      }
+      exampleInjector.setPlan(plan());
     }
     return exampleInjector;
   }
 
   /**
-   * Get a Map of overrides (key:source) from the plugin's configuration.
+   * Get the example size limits from the plugin's configuration.
+   *
+   * @return the limits.
+   * @throws MojoExecutionException if a size is not valid.
+   */
+  ExampleLimits limits() throws MojoExecutionException {
+    Policy policy = Policy.lookup(exampleSizePolicy);
+    return ExampleLimits.builder()
+        .maxBytes(StringUtils.isBlank(maxExampleSize) ? 0 : bytes(maxExampleSize))
+        .maxNodes(maxExampleNodes == null ? 0 : maxExampleNodes)
+        .maxTotalBytes(StringUtils.isBlank(maxExamplesSize) ? 0 : bytes(maxExamplesSize))
+        .policy(policy == null ? Policy.WARN : policy)
+        .truncateArraysTo(truncateArraysTo)
+        .build();
+  }
+
+  /**
+   * Get the output directory of the current project.
+   *
+   * @return the output directory.
+   */
+  File outputDirectory() {
+    return outputDirectory(project);
+  }
+
+  private static File outputDirectory(MavenProject project) {
+    return new File(project.getBuild().getOutputDirectory());
+  }
+
+  /**
+   * Get a Map of outputs (file:output) for files that are written somewhere other than in place.
+   *
+   * @return a non-null Map of files and outputs.
+   */
+  Map<File, Output> outputs() {
+    return outputs(project);
+  }
+
+  /**
+   * Get a Map of outputs (file:output) for a project. Relative paths are resolved against the
+   * project's base directory.
+   *
+   * @param project The project.
+   * @return a non-null Map of files and outputs.
+   * @see #outputs()
+   */
+  Map<File, Output> outputs(MavenProject project) {
+    Map<File, Output> outputMap = new LinkedHashMap<>();
+    for (PlexusConfiguration file : files) {
+      if (StringUtils.isNotBlank(file.getAttribute("output"))) {
+        outputMap.put(
+            file(project, file.getAttribute("file")),
+            new Output(
+                file(project, file.getAttribute("output")),
+                Format.lookup(file.getAttribute("outputFormat"))));
+      }
+    }
+    return outputMap;
+  }
+
+  /**
+   * Log a warning for each override that was not referred to by any processed file.
+   *
+   * @param unused The keys of the unused overrides.
+   */
+  void reportUnusedOverrides(Set<String> unused) {
+    for (String key : unused) {
+      getLog().warn("Override [" + key + "] is not used by any file");
+    }
+  }
+
+  /**
+   * Get the files matched by a file set, sorted by path.
+   *
+   * @param project The project.
+   * @param fileSet The file set.
+   * @return a non-null List of files.
+   */
+  private List<File> scan(MavenProject project, FileSet fileSet) {
+    File directory = directory(project, fileSet);
+    if (!directory.isDirectory()) {
+      getLog().warn("Skipping file set, directory does not exist: " + directory);
+      return List.of();
+    }
+    DirectoryScanner scanner = new DirectoryScanner();
+    scanner.setBasedir(directory);
+    scanner.setIncludes(fileSet.getIncludes().toArray(new String[0]));
+    scanner.setExcludes(fileSet.getExcludes().toArray(new String[0]));
+    scanner.addDefaultExcludes();
+    scanner.scan();
+    return Arrays.stream(scanner.getIncludedFiles())
+        .sorted()
+        .map(name -> new File(directory, name))
+        .collect(Collectors.toList());
+  }
+
+  /**
+   * Get the directory of a file set. Relative directories are resolved against the project's base
+   * directory.
+   *
+   * @param project The project.
+   * @param fileSet The file set.
+   * @return the directory, which defaults to the output directory.
+   */
+  private static File directory(MavenProject project, FileSet fileSet) {
+    if (StringUtils.isBlank(fileSet.getDirectory())) {
+      return outputDirectory(project);
+    }
+    return file(project, fileSet.getDirectory());
+  }
+
+  /**
+   * Get a file, resolving a relative path against the current project's base directory.
+   *
+   * @param path The path.
+   * @return the file.
+   */
+  File file(String path) {
+    return file(project, path);
+  }
+
+  /**
+   * Get a file, resolving a relative path against the project's base directory.
+   *
+   * @param project The project.
+   * @param path The path.
+   * @return the file.
+   */
+  private static File file(MavenProject project, String path) {
+    File file = Paths.get(path).toFile();
+    if (!file.isAbsolute() && project.getBasedir() != null) {
+      return new File(project.getBasedir(), path);
+    }
+    return file;
+  }
+
+  /**
+   * Get a Map of overrides (key:source) from the plugin's configuration. An example may be
+   * configured more than once with different targets.
    *
    * @return a non-null Map of overrides.
    */
   Map<String, String> overrides() {
     return examples.stream()
-        .collect(Collectors.toMap(o -> o.getAttribute("key"), o -> o.getAttribute("source")));
+        .collect(
+            Collectors.toMap(
+                o -> o.getAttribute("key"), o -> o.getAttribute("source"), (a, b) -> a));
+  }
+
+  /**
+   * Compile the examples with a target from the plugin's configuration.
+   *
+   * @return the plan.
+   * @throws MojoExecutionException if a target is not valid or is configured more than once.
+   */
+  InjectionPlan plan() throws MojoExecutionException {
+    List<Target> targets = new ArrayList<>();
+    try {
+      for (PlexusConfiguration example : examples) {
+        String target = example.getAttribute("target");
+        if (StringUtils.isNotBlank(target)) {
+          targets.add(
+              new Target(target, example.getAttribute("key"), example.getAttribute("source")));
+        }
+      }
+      return targets.isEmpty() ? InjectionPlan.EMPTY : new InjectionPlan(targets);
+    } catch (IllegalArgumentException e) {
+      throw new MojoExecutionException("Invalid example target: " + e.getMessage(), e);
+    }
+  }
+
+  /** Where a file is written. A null format is inferred from the file's extension. */
+  @Value
+  static class Output {
+    File file;
+
+    Format format;
   }
 }
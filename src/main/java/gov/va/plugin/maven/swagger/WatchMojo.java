@@ -0,0 +1,234 @@
+package gov.va.plugin.maven.swagger;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_MODIFY;
+import static java.nio.file.StandardWatchEventKinds.OVERFLOW;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Setter;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
+import org.apache.maven.plugins.annotations.ResolutionScope;
+
+/**
+ * Maven Mojo that keeps injecting examples while the configured files and the project's output
+ * directory change. This is intended for local development, where a Swagger UI serves the files and
+ * re-running the build for every change is too slow.
+ *
+ * <p>The original (un-injected) content of each file is kept in memory, so examples can be
+ * re-injected after a class changes even though the file on disk has already been rewritten. Files
+ * with an <code>output</code> are written there, as with the inject goal, and are left as is. When
+ * anything other than the configured files changes in the output directory, a fresh class loader is
+ * created and only the examples that were loaded from the output directory are reloaded. The
+ * previous class loader is closed.
+ *
+ * <p>The goal runs until the build is interrupted (e.g. <code>Ctrl+C</code>).
+ */
+@Setter
+@Mojo(name = "watch", requiresDependencyResolution = ResolutionScope.COMPILE_PLUS_RUNTIME)
+public class WatchMojo extends SwaggerMojo {
+  /** Milliseconds to wait for further changes before re-injecting. */
+  @Parameter(property = "quietPeriod", defaultValue = "50")
+  private long quietPeriod;
+
+  /** Injector shared by every change, so mappers and examples stay warm. */
+  private ExampleInjector injector;
+
+  /** Class loader of the output directory used by the injector, closed once it is replaced. */
+  private ClassLoader classLoader;
+
+  /** Files being watched (path:format). */
+  private final Map<Path, Format> watched = new LinkedHashMap<>();
+
+  /** Where each file is written (path:output). */
+  private final Map<Path, Output> outputs = new HashMap<>();
+
+  /** Original content of each file (path:document). */
+  private final Map<Path, JsonNode> templates = new HashMap<>();
+
+  /** Last modified time of each output after it was written by this Mojo (path:time). */
+  private final Map<Path, FileTime> written = new HashMap<>();
+
+  private static Path normalize(File file) {
+    return file.toPath().toAbsolutePath().normalize();
+  }
+
+  @Override
+  public void execute() throws MojoExecutionException, MojoFailureException {
+    start();
+    try (WatchService watchService = FileSystems.getDefault().newWatchService()) {
+      for (Path path : watched.keySet()) {
+        register(watchService, path.getParent());
+      }
+      register(watchService, normalize(outputDirectory()));
+      getLog().info("Watching for changes, press Ctrl+C to stop");
+      while (!Thread.currentThread().isInterrupted()) {
+        Set<Path> changed = new HashSet<>();
+        WatchKey key = watchService.take();
+        while (key != null) {
+          poll(watchService, key, changed);
+          key = watchService.poll(quietPeriod, TimeUnit.MILLISECONDS);
+        }
+        onChange(changed);
+      }
+    } catch (IOException e) {
+      throw new MojoExecutionException("Unable to watch for changes", e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      getLog().info("Stopped watching for changes");
+    } finally {
+      close(classLoader);
+    }
+  }
+
+  /**
+   * Close a class loader that is no longer used, releasing its open files. Classes it has already
+   * loaded can still be used.
+   *
+   * @param loader The class loader (may be null).
+   */
+  private void close(ClassLoader loader) {
+    if (loader instanceof Closeable) {
+      try {
+        ((Closeable) loader).close();
+      } catch (IOException e) {
+        getLog().warn("Unable to close class loader: " + e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Handle a batch of changed paths.
+   *
+   * <p>Changed files are read again, unless the change was made by this Mojo. Any other change
+   * within the output directory reloads the class path. Failures are logged rather than thrown so
+   * that the next change gets a chance to fix them.
+   *
+   * @param changed The changed paths.
+   */
+  void onChange(Set<Path> changed) throws MojoFailureException {
+    Path outputDirectory = normalize(outputDirectory());
+    boolean reload =
+        changed.stream()
+            .anyMatch(
+                p ->
+                    !watched.containsKey(p)
+                        && !written.containsKey(p)
+                        && p.startsWith(outputDirectory));
+    if (reload) {
+      getLog().info("Output directory changed, reloading examples");
+      ClassLoader previous = classLoader;
+      classLoader = getClasspath();
+      injector.reload(classLoader);
+      close(previous);
+    }
+    for (Map.Entry<Path, Format> file : watched.entrySet()) {
+      Path path = file.getKey();
+      boolean refresh = changed.contains(path) && Files.exists(path) && !isOwnWrite(path);
+      if (!refresh && !(reload && templates.containsKey(path))) {
+        continue;
+      }
+      try {
+        if (refresh) {
+          templates.put(path, injector.readTree(path.toFile(), file.getValue()));
+        }
+        inject(path);
+      } catch (MojoExecutionException e) {
+        getLog().error(e.getMessage(), e.getCause());
+      }
+    }
+  }
+
+  private void inject(Path path) throws MojoExecutionException {
+    Output output = outputs.get(path);
+    Path outputPath = normalize(output.getFile());
+    injector.injectSwaggerExamples(output.getFile(), output.getFormat(), templates.get(path));
+    try {
+      written.put(outputPath, Files.getLastModifiedTime(outputPath));
+    } catch (IOException e) {
+      written.remove(outputPath);
+    }
+  }
+
+  private boolean isOwnWrite(Path path) {
+    try {
+      return Files.getLastModifiedTime(path).equals(written.get(path));
+    } catch (IOException e) {
+      return false;
+    }
+  }
+
+  private void poll(WatchService watchService, WatchKey key, Set<Path> changed) throws IOException {
+    Path directory = (Path) key.watchable();
+    for (WatchEvent<?> event : key.pollEvents()) {
+      if (event.kind() == OVERFLOW) {
+        /* Events were lost, treat everything as changed */
+        changed.addAll(watched.keySet());
+        changed.add(directory);
+        continue;
+      }
+      Path path = directory.resolve((Path) event.context());
+      changed.add(path);
+      if (event.kind() == ENTRY_CREATE && Files.isDirectory(path)) {
+        register(watchService, path);
+      }
+    }
+    key.reset();
+  }
+
+  private void register(WatchService watchService, Path directory) throws IOException {
+    if (!Files.isDirectory(directory)) {
+      return;
+    }
+    Set<Path> directories;
+    try (Stream<Path> paths = Files.walk(directory)) {
+      directories = paths.filter(Files::isDirectory).collect(Collectors.toSet());
+    }
+    for (Path path : directories) {
+      path.register(watchService, ENTRY_CREATE, ENTRY_MODIFY, ENTRY_DELETE);
+    }
+  }
+
+  /**
+   * Validate the configuration, read the original content of each file and inject examples once.
+   *
+   * @throws MojoExecutionException if the configuration is invalid or injection fails.
+   */
+  void start() throws MojoExecutionException, MojoFailureException {
+    validate();
+    classLoader = getClasspath();
+    injector = getExampleInjector(classLoader, overrides());
+    Map<File, Output> configured = outputs();
+    for (Map.Entry<File, Format> file : files().entrySet()) {
+      Path path = normalize(file.getKey());
+      watched.put(path, file.getValue());
+      outputs.put(
+          path, configured.getOrDefault(file.getKey(), new Output(file.getKey(), file.getValue())));
+      templates.put(path, injector.readTree(path.toFile(), file.getValue()));
+      inject(path);
+    }
+    reportUnusedOverrides(injector.unusedOverrides());
+  }
+}
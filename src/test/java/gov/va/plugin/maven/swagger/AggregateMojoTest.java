@@ -0,0 +1,132 @@
+package gov.va.plugin.maven.swagger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.File;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.configuration.DefaultPlexusConfiguration;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for AggregateMojo. */
+public class AggregateMojoTest {
+  private static final Path TEST_RESOURCES = Paths.get("src", "test", "resources");
+
+  private static final ObjectMapper MAPPER = Format.JSON.getMapper();
+
+  @TempDir File reactorDirectory;
+
+  /**
+   * Create a module with the test files in its output directory and a module-local snapshot of the
+   * period example.
+   */
+  private MavenProject module(String name) throws Exception {
+    File basedir = new File(reactorDirectory, name);
+    File outputDirectory = new File(basedir, "target/classes");
+    for (String file : List.of("openapi.json", "openapi.yaml")) {
+      FileUtils.copyFile(TEST_RESOURCES.resolve(file).toFile(), new File(outputDirectory, file));
+    }
+    File snapshot = new File(outputDirectory, ExampleInjector.snapshotResource("module.Examples"));
+    snapshot.getParentFile().mkdirs();
+    MAPPER.writeValue(snapshot, Map.of("period", name));
+    Build build = new Build();
+    build.setOutputDirectory(outputDirectory.getAbsolutePath());
+    MavenProject project = new MavenProject();
+    project.setBuild(build);
+    project.setFile(new File(basedir, "pom.xml"));
+    return project;
+  }
+
+  private static JsonNode schemas(File file) throws Exception {
+    ObjectMapper mapper = Format.lookup(file.getName().replaceAll(".*\\.", "")).getMapper();
+    return mapper.readTree(file).get("components").get("schemas");
+  }
+
+  /**
+   * Test the default files of several modules.
+   *
+   * <p>Assert that every module's files are injected, using examples from each module's own class
+   * path and from the plugin's class path.
+   */
+  @Test
+  public void testAggregate() throws Exception {
+    List<MavenProject> modules = new ArrayList<>();
+    for (String name : List.of("a", "b", "c")) {
+      modules.add(module(name));
+    }
+    PlexusConfiguration override = new DefaultPlexusConfiguration("example");
+    override.setAttribute("key", "period");
+    override.setAttribute("source", "module.Examples#period");
+    AggregateMojo mojo = new AggregateMojo();
+    mojo.setProject(modules.get(0));
+    mojo.setReactorProjects(modules);
+    mojo.setFiles(Collections.emptyList());
+    mojo.setExamples(List.of(override));
+    mojo.setThreads(2);
+    mojo.execute();
+    for (MavenProject module : modules) {
+      String name = module.getBasedir().getName();
+      for (String file : List.of("openapi.json", "openapi.yaml")) {
+        JsonNode schemas = schemas(new File(module.getBuild().getOutputDirectory(), file));
+        assertEquals(name, schemas.get("Period").get("example").asText());
+        assertEquals(
+            MAPPER.valueToTree(Examples.objectExample()), schemas.get("Quantity").get("example"));
+      }
+    }
+  }
+
+  /**
+   * Test a diff report of several modules.
+   *
+   * <p>Assert that the documents of each module are compared with their own baselines and reported
+   * by their module's directory.
+   */
+  @Test
+  public void testDiffReport() throws Exception {
+    List<MavenProject> modules = new ArrayList<>();
+    for (String name : List.of("a", "b")) {
+      modules.add(module(name));
+      File baseline = new File(reactorDirectory, "baseline/" + name + "/openapi.json");
+      ObjectNode document =
+          (ObjectNode) MAPPER.readTree(TEST_RESOURCES.resolve("openapi.json").toFile());
+      ((ObjectNode) document.at("/components/schemas")).putObject("Removed" + name);
+      baseline.getParentFile().mkdirs();
+      MAPPER.writeValue(baseline, document);
+    }
+    Build build = new Build();
+    build.setOutputDirectory(new File(reactorDirectory, "target/classes").getAbsolutePath());
+    MavenProject root = new MavenProject();
+    root.setBuild(build);
+    root.setFile(new File(reactorDirectory, "pom.xml"));
+    modules.add(0, root);
+    File report = new File(reactorDirectory, "diff.json");
+    AggregateMojo mojo = new AggregateMojo();
+    mojo.setProject(root);
+    mojo.setReactorProjects(modules);
+    mojo.setFiles(Collections.emptyList());
+    mojo.setExamples(Collections.emptyList());
+    mojo.setDiffBaseline(new File(reactorDirectory, "baseline"));
+    mojo.setDiffReport(report);
+    mojo.execute();
+    JsonNode documents = MAPPER.readTree(report);
+    assertEquals(2, documents.size());
+    for (String name : List.of("a", "b")) {
+      assertEquals(
+          MAPPER.createArrayNode().add("Removed" + name),
+          documents.get(name + "/openapi.json").at("/schemas/removed"));
+    }
+  }
+}
@@ -0,0 +1,81 @@
+package gov.va.plugin.maven.swagger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.configuration.DefaultPlexusConfiguration;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for CheckMojo. */
+public class CheckMojoTest {
+  @TempDir File outputDirectory;
+
+  private CheckMojo getCheckMojo(File file, List<PlexusConfiguration> examples) {
+    Build build = new Build();
+    build.setOutputDirectory(outputDirectory.getAbsolutePath());
+    MavenProject project = new MavenProject();
+    project.setBuild(build);
+    PlexusConfiguration fileConfiguration = new DefaultPlexusConfiguration("file");
+    fileConfiguration.setAttribute("file", file.getAbsolutePath());
+    CheckMojo mojo = new CheckMojo();
+    mojo.setProject(project);
+    mojo.setFiles(List.of(fileConfiguration));
+    mojo.setExamples(examples);
+    return mojo;
+  }
+
+  /**
+   * Test a file where every example resolves.
+   *
+   * <p>Assert that the check passes and the file is not rewritten.
+   */
+  @Test
+  public void testCheck() throws Exception {
+    File file = new File(outputDirectory, "openapi.json");
+    FileUtils.copyFile(Paths.get("src", "test", "resources", "openapi.json").toFile(), file);
+    String content = FileUtils.readFileToString(file, "UTF-8");
+    getCheckMojo(file, Collections.emptyList()).execute();
+    assertEquals(content, FileUtils.readFileToString(file, "UTF-8"));
+  }
+
+  /**
+   * Test a file and overrides with several problems.
+   *
+   * <p>Assert that every problem is reported at once, and that placeholders that don't match the
+   * pattern and unused overrides are ignored.
+   */
+  @Test
+  public void testCheckProblems() throws Exception {
+    File file = new File(outputDirectory, "openapi.json");
+    Map<String, Object> document =
+        Map.of(
+            "a", Map.of("example", "${a:gov.va.plugin.maven.swagger.Missing#example}"),
+            "b", Map.of("example", "${b:gov.va.plugin.maven.swagger.Examples#missing}"),
+            "c", Map.of("example", "${c:java.lang.Object#toString}"),
+            "d", Map.of("example", "${d:gov.va.plugin.maven.swagger.Examples#stringExample}"),
+            "e", Map.of("example", "SWAGGER_EXAMPLE_E"),
+            "f", Map.of("example", Map.of("example", "${f:nested.Missing#example}")));
+    ExampleInjector.Format.JSON.getMapper().writeValue(file, document);
+    PlexusConfiguration override = new DefaultPlexusConfiguration("example");
+    override.setAttribute("key", "g");
+    override.setAttribute("source", "gov.va.plugin.maven.swagger.Examples#missing");
+    MojoFailureException e =
+        assertThrows(
+            MojoFailureException.class, () -> getCheckMojo(file, List.of(override)).execute());
+    assertEquals("3 example(s) do not resolve", e.getMessage());
+    assertTrue(
+        ExampleInjector.Format.JSON.getMapper().readTree(file).get("c").get("example").isTextual());
+  }
+}
@@ -1,18 +1,39 @@
 package gov.va.plugin.maven.swagger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import gov.va.plugin.maven.swagger.ExampleInjector.IoStrategy;
+import gov.va.plugin.maven.swagger.ExampleLimits.Policy;
+import gov.va.plugin.maven.swagger.InjectionPlan.Target;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.lang.reflect.Field;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.FilenameUtils;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -36,6 +57,82 @@ public class ExampleInjectorTest {
     return new ExampleInjector(ExampleInjector.class.getClassLoader(), overrides);
   }
 
+  private ExampleInjector getStreamingExampleInjector() {
+    ExampleInjector exampleInjector = getExampleInjector();
+    exampleInjector.setMemoryBudget(0);
+    return exampleInjector;
+  }
+
+  /**
+   * Return the buffer recyclers of a parser and a generator created by a factory, which Jackson
+   * does not expose.
+   */
+  private static Object[] recyclers(JsonFactory factory, byte[] document) throws Exception {
+    try (JsonParser parser = factory.createParser(document);
+        JsonGenerator generator = factory.createGenerator(new ByteArrayOutputStream())) {
+      Object[] recyclers = {
+        field(field(parser, "_ioContext"), "_bufferRecycler"),
+        field(field(generator, "_ioContext"), "_bufferRecycler")
+      };
+      /* A generator must write a value before it is closed */
+      generator.writeNumber(1);
+      return recyclers;
+    }
+  }
+
+  private static Object field(Object target, String name) throws ReflectiveOperationException {
+    for (Class<?> type = target.getClass(); type != null; type = type.getSuperclass()) {
+      try {
+        Field field = type.getDeclaredField(name);
+        field.setAccessible(true);
+        return field.get(target);
+      } catch (NoSuchFieldException e) {
+        /* Declared by a superclass */
+      }
+    }
+    throw new NoSuchFieldException(name);
+  }
+
+  /**
+   * Write a synthetic spec of roughly the given size. Paths are written in reverse order, and each
+   * references the same example.
+   *
+   * @param file The file to write.
+   * @param megabytes The approximate size.
+   * @return the number of paths.
+   */
+  private int largeSpec(File file, int megabytes) throws IOException {
+    int paths = megabytes * 1024;
+    String description = "x".repeat(900);
+    try (JsonGenerator generator =
+        Format.JSON.getMapper().getFactory().createGenerator(file, JsonEncoding.UTF8)) {
+      generator.writeStartObject();
+      generator.writeStringField("openapi", "3.0.1");
+      generator.writeObjectFieldStart("paths");
+      for (int i = paths - 1; i >= 0; i--) {
+        generator.writeObjectFieldStart(String.format("/p%08d", i));
+        generator.writeObjectFieldStart("get");
+        generator.writeStringField("description", description);
+        generator.writeObjectFieldStart("responses");
+        generator.writeObjectFieldStart("200");
+        generator.writeObjectFieldStart("content");
+        generator.writeObjectFieldStart("application/json");
+        generator.writeStringField(
+            "example", "${quantity:gov.va.plugin.maven.swagger.Examples#objectExample}");
+        for (int depth = 0; depth < 6; depth++) {
+          generator.writeEndObject();
+        }
+      }
+      generator.writeEndObject();
+      generator.writeObjectFieldStart("components");
+      generator.writeObjectFieldStart("schemas");
+      generator.writeEndObject();
+      generator.writeEndObject();
+      generator.writeEndObject();
+    }
+    return paths;
+  }
+
   /**
    * Common assertions for the normal execution flow.
    *
@@ -135,6 +232,328 @@ public class ExampleInjectorTest {
         () -> injector.injectSwaggerExamples(new File("missing.json"), Format.JSON));
   }
 
+  /**
+   * Test example size limits with each policy, in memory and streaming.
+   *
+   * <p>Assert that warnings leave the example as is, failures leave the file untouched and
+   * truncation keeps the configured number of array elements.
+   */
+  @Test
+  public void testLimits() throws Exception {
+    Map<String, String> overrides =
+        Map.of("quantity", "gov.va.plugin.maven.swagger.Examples#listExample");
+    String original = FileUtils.readFileToString(jsonFile, "UTF-8");
+    for (long memoryBudget : new long[] {Long.MAX_VALUE, 0}) {
+      ExampleInjector failing = getExampleInjector(overrides);
+      failing.setMemoryBudget(memoryBudget);
+      failing.setLimits(ExampleLimits.builder().maxNodes(5).policy(Policy.FAIL).build());
+      assertThrows(
+          MojoExecutionException.class, () -> failing.injectSwaggerExamples(jsonFile, Format.JSON));
+      assertEquals(original, FileUtils.readFileToString(jsonFile, "UTF-8"));
+      ExampleInjector failingTotal = getExampleInjector(overrides);
+      failingTotal.setMemoryBudget(memoryBudget);
+      failingTotal.setLimits(
+          ExampleLimits.builder().maxTotalBytes(100).policy(Policy.FAIL).build());
+      assertThrows(
+          MojoExecutionException.class,
+          () -> failingTotal.injectSwaggerExamples(jsonFile, Format.JSON));
+      for (Policy policy : new Policy[] {Policy.WARN, Policy.TRUNCATE}) {
+        File file = new File(workingDirectory, memoryBudget + "-" + policy + ".json");
+        FileUtils.writeStringToFile(file, original, "UTF-8");
+        ExampleInjector exampleInjector = getExampleInjector(overrides);
+        exampleInjector.setMemoryBudget(memoryBudget);
+        exampleInjector.setLimits(
+            ExampleLimits.builder().maxBytes(100).policy(policy).truncateArraysTo(3).build());
+        exampleInjector.injectSwaggerExamples(file, Format.JSON);
+        JsonNode example =
+            Format.JSON
+                .getMapper()
+                .readTree(file)
+                .get("components")
+                .get("schemas")
+                .get("Quantity")
+                .get("example");
+        assertEquals(policy == Policy.TRUNCATE ? 3 : 20, example.size());
+        assertEquals("item_0", example.get(0).asText());
+      }
+    }
+  }
+
+  /**
+   * Test the YAML style, in memory and streaming.
+   *
+   * <p>Assert that YAML is written with a document start marker by default, and without one in the
+   * minimal style, and that both styles read back as the same document.
+   */
+  @Test
+  public void testMinimalYaml() throws Exception {
+    for (long memoryBudget : new long[] {Long.MAX_VALUE, 0}) {
+      File standard = new File(workingDirectory, "standard-" + memoryBudget + ".yaml");
+      File minimal = new File(workingDirectory, "minimal-" + memoryBudget + ".yaml");
+      ExampleInjector exampleInjector = getExampleInjector();
+      exampleInjector.setMemoryBudget(memoryBudget);
+      exampleInjector.injectSwaggerExamples(yamlFile, Format.YAML, standard, Format.YAML);
+      ExampleInjector minimalInjector = getExampleInjector();
+      minimalInjector.setMemoryBudget(memoryBudget);
+      minimalInjector.setMinimalYaml(true);
+      minimalInjector.injectSwaggerExamples(yamlFile, Format.YAML, minimal, Format.YAML);
+      assertTrue(FileUtils.readFileToString(standard, "UTF-8").startsWith("---"));
+      assertFalse(FileUtils.readFileToString(minimal, "UTF-8").startsWith("---"));
+      ObjectMapper mapper = Format.YAML.getMapper();
+      assertEquals(mapper.readTree(standard), mapper.readTree(minimal));
+    }
+  }
+
+  /**
+   * Test the mapped I/O strategy, in memory and streaming.
+   *
+   * <p>Assert that the output matches the stream strategy.
+   */
+  @Test
+  public void testMappedIo() throws Exception {
+    for (long memoryBudget : new long[] {Long.MAX_VALUE, 0}) {
+      for (File file : new File[] {jsonFile, yamlFile}) {
+        File mapped = new File(workingDirectory, "mapped-" + memoryBudget + "-" + file.getName());
+        FileUtils.copyFile(file, mapped);
+        ExampleInjector exampleInjector = getExampleInjector();
+        exampleInjector.setMemoryBudget(memoryBudget);
+        exampleInjector.setIo(IoStrategy.MAPPED);
+        exampleInjector.injectSwaggerExamples(mapped, null);
+        File streamed = new File(workingDirectory, "stream-" + memoryBudget + "-" + file.getName());
+        FileUtils.copyFile(file, streamed);
+        getExampleInjector().injectSwaggerExamples(streamed, null);
+        assertEquals(
+            FileUtils.readFileToString(streamed, "UTF-8"),
+            FileUtils.readFileToString(mapped, "UTF-8"));
+      }
+    }
+  }
+
+  /**
+   * Test examples placed at targets, in memory and streaming.
+   *
+   * <p>Assert that existing fields (including a placeholder) and array elements are replaced, that
+   * missing fields are added to existing objects and that missing parents are skipped.
+   *
+   * <p>Assert that the streaming output matches the in-memory output.
+   */
+  @Test
+  public void testTargets() throws Exception {
+    String examples = Examples.class.getName();
+    String metadata = "/paths/~1metadata/get/responses/200/content/application~1json+fhir/example";
+    InjectionPlan plan =
+        new InjectionPlan(
+            List.of(
+                new Target(metadata, "metadata", examples + "#listExample"),
+                new Target(
+                    "/components/schemas/Period/example", "period", examples + "#objectExample"),
+                new Target(
+                    "/components/schemas/Quantity/x-example",
+                    "quantity",
+                    examples + "#stringExample"),
+                new Target("/paths/~1metadata/get/tags/0", "tag", examples + "#stringExample"),
+                new Target("/paths/~1missing/get/example", "missing", examples + "#listExample")));
+    File inMemoryFile = new File(workingDirectory, "in-memory.json");
+    FileUtils.copyFile(jsonFile, inMemoryFile);
+    ExampleInjector inMemory = getExampleInjector();
+    inMemory.setPlan(plan);
+    inMemory.injectSwaggerExamples(inMemoryFile, Format.JSON);
+    ObjectMapper mapper = Format.JSON.getMapper();
+    JsonNode root = mapper.readTree(inMemoryFile);
+    assertEquals(mapper.valueToTree(Examples.listExample()), root.at(metadata));
+    assertEquals(
+        mapper.valueToTree(Examples.objectExample()),
+        root.at("/components/schemas/Period/example"));
+    assertEquals(
+        Examples.stringExample(), root.at("/components/schemas/Quantity/x-example").asText());
+    assertEquals(Examples.stringExample(), root.at("/paths/~1metadata/get/tags/0").asText());
+    assertTrue(root.at("/paths/~1missing").isMissingNode());
+    ExampleInjector streaming = getStreamingExampleInjector();
+    streaming.setPlan(plan);
+    streaming.injectSwaggerExamples(jsonFile, Format.JSON);
+    assertEquals(
+        FileUtils.readFileToString(inMemoryFile, "UTF-8"),
+        FileUtils.readFileToString(jsonFile, "UTF-8"));
+  }
+
+  /**
+   * Test a diff report against a baseline.
+   *
+   * <p>Assert that operations, examples and schemas that differ are listed in sorted order, and
+   * that the report is the same each time it is written.
+   */
+  @Test
+  public void testDiffReport() throws Exception {
+    ObjectMapper mapper = Format.JSON.getMapper();
+    ObjectNode baseline = (ObjectNode) mapper.readTree(jsonFile);
+    ((ObjectNode) baseline.get("paths")).remove("/zzz");
+    ((ObjectNode) baseline.at("/components/schemas")).putObject("Removed");
+    File baselineDirectory = new File(workingDirectory, "baseline");
+    baselineDirectory.mkdirs();
+    mapper.writeValue(new File(baselineDirectory, jsonFile.getName()), baseline);
+    DiffReport diff = new DiffReport(baselineDirectory);
+    ExampleInjector exampleInjector = getExampleInjector();
+    exampleInjector.setDiff(diff);
+    exampleInjector.injectSwaggerExamples(jsonFile, Format.JSON);
+    exampleInjector.injectSwaggerExamples(yamlFile, Format.YAML);
+    File report = new File(workingDirectory, "diff/report.json");
+    diff.write(report);
+    JsonNode expected =
+        mapper.readTree(
+            "{\"openapi.json\":{"
+                + "\"operations\":{\"added\":[\"GET /zzz\"],\"removed\":[],\"changed\":[]},"
+                + "\"examples\":{\"added\":[],\"removed\":[],\"changed\":["
+                + "\"/components/schemas/Period/example\","
+                + "\"/components/schemas/Quantity/example\"]},"
+                + "\"schemas\":{\"added\":[],\"removed\":[\"Removed\"],"
+                + "\"changed\":[\"Period\",\"Quantity\"]}}}");
+    assertEquals(expected, mapper.readTree(report));
+    String first = FileUtils.readFileToString(report, "UTF-8");
+    diff.write(report);
+    assertEquals(first, FileUtils.readFileToString(report, "UTF-8"));
+  }
+
+  /**
+   * Test that errors are collected across placeholders and files, in memory and streaming.
+   *
+   * <p>Assert that every error is reported once with its location, and that files with errors are
+   * left untouched.
+   */
+  @Test
+  public void testResolutionErrors() throws Exception {
+    Map<String, String> overrides =
+        Map.of(
+            "period", "gov.va.plugin.maven.swagger.Missing#stringExample",
+            "quantity", "gov.va.plugin.maven.swagger.Examples#nullExample");
+    String original = FileUtils.readFileToString(jsonFile, "UTF-8");
+    for (long memoryBudget : new long[] {Long.MAX_VALUE, 0}) {
+      ResolutionErrors errors = new ResolutionErrors();
+      ExampleInjector exampleInjector = getExampleInjector(overrides);
+      exampleInjector.setMemoryBudget(memoryBudget);
+      exampleInjector.setErrors(errors);
+      exampleInjector.injectSwaggerExamples(jsonFile, Format.JSON);
+      exampleInjector.injectSwaggerExamples(yamlFile, Format.YAML);
+      assertEquals(original, FileUtils.readFileToString(jsonFile, "UTF-8"));
+      String message = assertThrows(MojoExecutionException.class, errors::check).getMessage();
+      assertTrue(message.startsWith("4 example(s) could not be resolved:"), message);
+      for (File file : new File[] {jsonFile, yamlFile}) {
+        assertTrue(
+            message.contains(
+                file.getPath()
+                    + " /components/schemas/Period/example: Example [period] class not found:"
+                    + " gov.va.plugin.maven.swagger.Missing"),
+            message);
+        assertTrue(
+            message.contains(
+                file.getPath()
+                    + " /components/schemas/Quantity/example: Example [quantity] must not be"
+                    + " null: gov.va.plugin.maven.swagger.Examples#nullExample"),
+            message);
+      }
+    }
+  }
+
+  /**
+   * Test that metrics are recorded for each file and written as OpenMetrics.
+   *
+   * <p>Assert that the file is counted as processed, that its placeholders and phases are recorded,
+   * and that the exposition is terminated.
+   */
+  @Test
+  public void testMetrics() throws Exception {
+    BuildMetrics metrics = new BuildMetrics();
+    ExampleInjector exampleInjector = getExampleInjector();
+    exampleInjector.setMetrics(metrics.module("module", workingDirectory));
+    exampleInjector.injectSwaggerExamples(jsonFile, Format.JSON);
+    File file = new File(workingDirectory, "metrics/metrics.txt");
+    metrics.write(file);
+    String labels = "{module=\"module\",file=\"" + jsonFile.getName() + "\"";
+    List<String> lines = Files.readAllLines(file.toPath());
+    assertTrue(
+        lines.contains("swagger_examples_files_total" + labels + ",result=\"processed\"} 1"));
+    assertTrue(
+        lines.stream()
+            .anyMatch(l -> l.startsWith("swagger_examples_placeholders_total" + labels + "} ")));
+    assertTrue(
+        lines.stream()
+            .anyMatch(
+                l -> l.startsWith("swagger_examples_examples_resolved_total" + labels + "} ")));
+    assertTrue(
+        lines.contains(
+            "swagger_examples_phase_duration_seconds_count" + labels + ",phase=\"inject\"} 1"));
+    assertEquals("# EOF", lines.get(lines.size() - 1));
+  }
+
+  /**
+   * Test that metrics are counted the same way in memory and streaming.
+   *
+   * <p>Assert that every site of an example is counted as one cache lookup, and that a file whose
+   * examples could not be resolved is counted as skipped.
+   */
+  @Test
+  public void testMetricsStreaming() throws Exception {
+    File spec = new File(workingDirectory, "large.json");
+    int paths = largeSpec(spec, 1);
+    Map<String, String> missing = Map.of("period", "gov.va.plugin.maven.swagger.Missing#example");
+    List<List<String>> counters = new ArrayList<>();
+    for (long memoryBudget : new long[] {Long.MAX_VALUE, 0}) {
+      BuildMetrics metrics = new BuildMetrics();
+      ExampleInjector exampleInjector = getExampleInjector();
+      exampleInjector.setMemoryBudget(memoryBudget);
+      exampleInjector.setMetrics(metrics.module("module", workingDirectory));
+      exampleInjector.injectSwaggerExamples(
+          spec, Format.JSON, new File(workingDirectory, memoryBudget + ".json"), Format.JSON);
+      ExampleInjector failing = getExampleInjector(missing);
+      failing.setMemoryBudget(memoryBudget);
+      failing.setErrors(new ResolutionErrors());
+      failing.setMetrics(metrics.module("module", workingDirectory));
+      failing.injectSwaggerExamples(jsonFile, Format.JSON);
+      File file = new File(workingDirectory, "metrics-" + memoryBudget + ".txt");
+      metrics.write(file);
+      List<String> lines = Files.readAllLines(file.toPath());
+      String labels = "{module=\"module\",file=\"" + spec.getName() + "\"";
+      assertTrue(lines.contains("swagger_examples_cache_misses_total" + labels + "} 1"));
+      assertTrue(lines.contains("swagger_examples_cache_hits_total" + labels + "} " + (paths - 1)));
+      assertTrue(
+          lines.contains(
+              "swagger_examples_files_total{module=\"module\",file=\""
+                  + jsonFile.getName()
+                  + "\",result=\"skipped\"} 1"));
+      lines.removeIf(l -> l.startsWith("#") || l.contains("_bytes_") || l.contains("_seconds_"));
+      counters.add(lines);
+    }
+    assertEquals(counters.get(0), counters.get(1));
+  }
+
+  /**
+   * Test that sites of the same example share one node.
+   *
+   * <p>Assert that a target inside a shared example changes only its own site, and not the example
+   * at other sites or in the cache.
+   */
+  @Test
+  public void testSharedExamples() throws Exception {
+    String examples = Examples.class.getName();
+    String period = "/components/schemas/Period/example";
+    String quantity = "/components/schemas/Quantity/example";
+    ExampleInjector exampleInjector = getExampleInjector();
+    exampleInjector.setPlan(
+        new InjectionPlan(
+            List.of(
+                new Target(period, "period", examples + "#objectExample"),
+                new Target(period + "/added", "tag", examples + "#stringExample"))));
+    ObjectMapper mapper = Format.JSON.getMapper();
+    JsonNode document = mapper.readTree(jsonFile);
+    File output = new File(workingDirectory, "shared.json");
+    exampleInjector.injectSwaggerExamples(document, Map.of(output, Format.JSON));
+    assertEquals(Examples.stringExample(), document.at(period + "/added").asText());
+    assertEquals(mapper.valueToTree(Examples.objectExample()), document.at(quantity));
+    JsonNode again = mapper.readTree(jsonFile);
+    exampleInjector.injectSwaggerExamples(again, Map.of(output, Format.JSON));
+    assertSame(document.at(quantity), again.at(quantity));
+    assertEquals(document, mapper.readTree(output));
+  }
+
   /** Test the normal JSON flow. */
   @Test
   public void testNormalJson() throws Exception {
@@ -175,6 +594,54 @@ public class ExampleInjectorTest {
     normalAssertions(root, mapper);
   }
 
+  /**
+   * Test a CBOR input with a JSON output.
+   *
+   * <p>Assert that the output matches the normal flow.
+   */
+  @Test
+  public void testCborInput() throws Exception {
+    File cborFile = new File(workingDirectory, "openapi.cbor");
+    Format.CBOR.getMapper().writeValue(cborFile, Format.JSON.getMapper().readTree(jsonFile));
+    File outputFile = new File(workingDirectory, "output.json");
+    getExampleInjector().injectSwaggerExamples(cborFile, null, outputFile, null);
+    normalAssertions(Format.JSON.getMapper().readTree(outputFile), Format.JSON.getMapper());
+  }
+
+  /**
+   * Test a synthetic spec that is streamed. The size can be raised with the <code>
+   * largeSpecMegabytes</code> system property (see the <code>large-spec</code> profile).
+   *
+   * <p>Assert that every placeholder is replaced and that paths are sorted, without parsing the
+   * output into memory.
+   */
+  @Test
+  public void testLargeSpec() throws Exception {
+    File largeFile = new File(workingDirectory, "large.json");
+    int paths = largeSpec(largeFile, Integer.getInteger("largeSpecMegabytes", 1));
+    getStreamingExampleInjector().injectSwaggerExamples(largeFile, Format.JSON);
+    int examples = 0;
+    String firstPath = null;
+    try (JsonParser parser = Format.JSON.getMapper().getFactory().createParser(largeFile)) {
+      JsonToken token;
+      while ((token = parser.nextToken()) != null) {
+        if (token == JsonToken.FIELD_NAME
+            && firstPath == null
+            && parser.getCurrentName().startsWith("/p")) {
+          firstPath = parser.getCurrentName();
+        }
+        if (token == JsonToken.FIELD_NAME && "object_example_1".equals(parser.getCurrentName())) {
+          examples++;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+          assertFalse(parser.getText().startsWith("${"));
+        }
+      }
+    }
+    assertEquals(paths, examples);
+    assertEquals("/p00000000", firstPath);
+  }
+
   /**
    * Test a null example.
    *
@@ -230,6 +697,256 @@ public class ExampleInjectorTest {
         () -> exampleInjector.injectSwaggerExamples(jsonFile, Format.JSON));
   }
 
+  /**
+   * Test examples from a provider registered on the class path, in memory, streaming and checking,
+   * and an override with a key that no provider has.
+   *
+   * <p>Assert that the provider is asked for every key of an in-memory document at once, that keys
+   * it does not have fall back to the placeholder's source, and that overrides come first.
+   *
+   * <p>Assert that check only asks providers which keys they have, and that a provided source whose
+   * key no provider has is reported by check and fails injection with the key.
+   */
+  @Test
+  public void testProviders() throws Exception {
+    File classes = new File(workingDirectory, "classes");
+    File services = new File(classes, "META-INF/services/" + ExampleProvider.class.getName());
+    services.getParentFile().mkdirs();
+    FileUtils.writeStringToFile(services, Examples.Provider.class.getName(), "UTF-8");
+    ClassLoader classLoader =
+        URLClassLoader.newInstance(
+            new URL[] {classes.toURI().toURL()}, ExampleInjector.class.getClassLoader());
+    Examples.Provider.REQUESTS.clear();
+    new ExampleInjector(classLoader, null).injectSwaggerExamples(jsonFile, Format.JSON);
+    assertEquals(List.of(Set.of("period", "quantity")), Examples.Provider.REQUESTS);
+    ExampleInjector streaming = new ExampleInjector(classLoader, null);
+    streaming.setMemoryBudget(0);
+    streaming.injectSwaggerExamples(yamlFile, Format.YAML);
+    assertEquals(3, Examples.Provider.REQUESTS.size());
+    for (File file : List.of(jsonFile, yamlFile)) {
+      ObjectMapper mapper = Format.lookup(FilenameUtils.getExtension(file.getName())).getMapper();
+      JsonNode root = mapper.readTree(file);
+      assertEquals("provided_example", root.at("/components/schemas/Period/example").asText());
+      assertEquals(
+          mapper.valueToTree(Examples.objectExample()),
+          root.at("/components/schemas/Quantity/example"));
+    }
+    Examples.Provider.REQUESTS.clear();
+    assertEquals(List.of(), new ExampleInjector(classLoader, null).check(jsonFile, Format.JSON));
+    assertEquals(List.of(), Examples.Provider.REQUESTS);
+    File overridden = new File(workingDirectory, "overridden.json");
+    FileUtils.copyFile(Paths.get("src", "test", "resources", "openapi.json").toFile(), overridden);
+    Examples.Provider.REQUESTS.clear();
+    new ExampleInjector(classLoader, Map.of("period", Examples.class.getName() + "#stringExample"))
+        .injectSwaggerExamples(overridden, Format.JSON);
+    assertEquals(List.of(Set.of("quantity")), Examples.Provider.REQUESTS);
+    assertEquals(
+        Examples.stringExample(),
+        Format.JSON
+            .getMapper()
+            .readTree(overridden)
+            .at("/components/schemas/Period/example")
+            .asText());
+    Map<String, String> unknown =
+        Map.of("period", ExampleProviders.SOURCE_PREFIX + Examples.Provider.class.getName() + "#x");
+    File unprovided = new File(workingDirectory, "unprovided.json");
+    FileUtils.copyFile(Paths.get("src", "test", "resources", "openapi.json").toFile(), unprovided);
+    Examples.Provider.REQUESTS.clear();
+    assertEquals(
+        List.of(
+            unprovided.getName()
+                + " /components/schemas/Period/example: [period] No example provider has key: x"),
+        new ExampleInjector(classLoader, unknown).check(unprovided, Format.JSON));
+    assertEquals(List.of(), Examples.Provider.REQUESTS);
+    MojoExecutionException e =
+        assertThrows(
+            MojoExecutionException.class,
+            () ->
+                new ExampleInjector(classLoader, unknown).injectSwaggerExamples(unprovided, null));
+    assertTrue(e.getMessage().contains("no example provider has key: x"), e.getMessage());
+  }
+
+  /**
+   * Test that every format recycles buffers from the shared pool.
+   *
+   * <p>Assert that the parsers and generators Jackson creates use the pool, on the current thread
+   * and on others. This fails if Jackson stops calling the overridden recycler hook (e.g. after an
+   * upgrade to 2.16, which replaced it).
+   */
+  @Test
+  public void testRecyclerPool() throws Exception {
+    for (Format format : Format.values()) {
+      ObjectMapper mapper = format.getMapper();
+      byte[] document = mapper.writeValueAsBytes(Map.of("a", 1));
+      assertSame(RecyclerPool.recycler(), recyclers(mapper.getFactory(), document)[0]);
+      assertSame(RecyclerPool.recycler(), recyclers(mapper.getFactory(), document)[1]);
+      Object[] other = new Object[3];
+      Thread thread =
+          new Thread(
+              () -> {
+                try {
+                  other[0] = RecyclerPool.recycler();
+                  System.arraycopy(recyclers(mapper.getFactory(), document), 0, other, 1, 2);
+                } catch (Exception e) {
+                  throw new IllegalStateException(e);
+                }
+              });
+      thread.start();
+      thread.join();
+      assertSame(other[0], other[1]);
+      assertSame(other[0], other[2]);
+    }
+  }
+
+  /**
+   * Test examples resolved from a snapshot, in memory, streaming and checking.
+   *
+   * <p>Assert that the snapshot is used even though its class does not exist.
+   */
+  @Test
+  public void testSnapshot() throws Exception {
+    File classes = new File(workingDirectory, "classes");
+    File snapshot = new File(classes, ExampleInjector.snapshotResource("snapshot.Examples"));
+    snapshot.getParentFile().mkdirs();
+    Format.JSON.getMapper().writeValue(snapshot, Map.of("period", "snapshot_example"));
+    ClassLoader classLoader =
+        URLClassLoader.newInstance(
+            new URL[] {classes.toURI().toURL()}, ExampleInjector.class.getClassLoader());
+    Map<String, String> overrides = Map.of("period", "snapshot.Examples#period");
+    assertEquals(
+        List.of(), new ExampleInjector(classLoader, overrides).check(jsonFile, Format.JSON));
+    new ExampleInjector(classLoader, overrides).injectSwaggerExamples(jsonFile, Format.JSON);
+    ExampleInjector streaming = new ExampleInjector(classLoader, overrides);
+    streaming.setMemoryBudget(0);
+    streaming.injectSwaggerExamples(yamlFile, Format.YAML);
+    for (File file : List.of(jsonFile, yamlFile)) {
+      JsonNode root =
+          Format.lookup(FilenameUtils.getExtension(file.getName())).getMapper().readTree(file);
+      assertEquals(
+          "snapshot_example",
+          root.get("components").get("schemas").get("Period").get("example").asText());
+    }
+  }
+
+  /**
+   * Test a snapshot next to its compiled class, e.g. after the class was compiled again.
+   *
+   * <p>Assert that the class is invoked instead of using the stale snapshot.
+   */
+  @Test
+  public void testSnapshotOfCompiledClass() throws Exception {
+    File classes = new File(workingDirectory, "classes");
+    String className = Examples.class.getName();
+    File classFile = new File(classes, className.replace('.', '/') + ".class");
+    FileUtils.copyURLToFile(
+        Examples.class.getResource(Examples.class.getSimpleName() + ".class"), classFile);
+    File snapshot = new File(classes, ExampleInjector.snapshotResource(className));
+    snapshot.getParentFile().mkdirs();
+    Format.JSON.getMapper().writeValue(snapshot, Map.of("stringExample", "stale_example"));
+    ClassLoader classLoader =
+        URLClassLoader.newInstance(
+            new URL[] {classes.toURI().toURL()}, ExampleInjector.class.getClassLoader());
+    new ExampleInjector(classLoader, null).injectSwaggerExamples(jsonFile, Format.JSON);
+    assertEquals(
+        Examples.stringExample(),
+        Format.JSON
+            .getMapper()
+            .readTree(jsonFile)
+            .at("/components/schemas/Period/example")
+            .asText());
+  }
+
+  /**
+   * Test an override that no placeholder refers to.
+   *
+   * <p>Assert that its source is never loaded and it is reported as unused.
+   */
+  @Test
+  public void testUnusedOverride() throws Exception {
+    ExampleInjector exampleInjector =
+        getExampleInjector(
+            Map.of(
+                "period",
+                "gov.va.plugin.maven.swagger.Examples#stringExample",
+                "unused",
+                "gov.va.plugin.maven.swagger.Missing#example"));
+    exampleInjector.injectSwaggerExamples(jsonFile, Format.JSON);
+    assertEquals(Set.of("unused"), exampleInjector.unusedOverrides());
+  }
+
+  /**
+   * Test a JSON input with a Smile output, in memory and streaming.
+   *
+   * <p>Assert that the output matches the normal flow and the input is left untouched.
+   */
+  @Test
+  public void testSmileOutput() throws Exception {
+    String original = FileUtils.readFileToString(jsonFile, "UTF-8");
+    ObjectMapper mapper = Format.SMILE.getMapper();
+    File outputFile = new File(workingDirectory, "output.smile");
+    getExampleInjector().injectSwaggerExamples(jsonFile, Format.JSON, outputFile, null);
+    normalAssertions(mapper.readTree(outputFile), Format.JSON.getMapper());
+    File streamedFile = new File(workingDirectory, "streamed.smile");
+    getStreamingExampleInjector()
+        .injectSwaggerExamples(jsonFile, Format.JSON, streamedFile, Format.SMILE);
+    assertEquals(mapper.readTree(outputFile), mapper.readTree(streamedFile));
+    assertEquals(original, FileUtils.readFileToString(jsonFile, "UTF-8"));
+  }
+
+  /**
+   * Test outputs in directories that do not exist yet, in memory and streaming.
+   *
+   * <p>Assert that the directories are created and the outputs are written.
+   */
+  @Test
+  public void testOutputDirectoryCreated() throws Exception {
+    File outputFile = new File(workingDirectory, "generated/in-memory/openapi.yaml");
+    getExampleInjector().injectSwaggerExamples(jsonFile, Format.JSON, outputFile, null);
+    normalAssertions(Format.YAML.getMapper().readTree(outputFile), Format.YAML.getMapper());
+    File streamedFile = new File(workingDirectory, "generated/streamed/openapi.yaml");
+    getStreamingExampleInjector()
+        .injectSwaggerExamples(jsonFile, Format.JSON, streamedFile, Format.YAML);
+    assertEquals(
+        Format.YAML.getMapper().readTree(outputFile),
+        Format.YAML.getMapper().readTree(streamedFile));
+  }
+
+  /**
+   * Test the streaming JSON flow.
+   *
+   * <p>Assert that the output matches the in-memory flow.
+   */
+  @Test
+  public void testStreamingJson() throws Exception {
+    Format format = Format.JSON;
+    File inMemoryFile = new File(workingDirectory, "in-memory.json");
+    FileUtils.copyFile(jsonFile, inMemoryFile);
+    getExampleInjector().injectSwaggerExamples(inMemoryFile, format);
+    getStreamingExampleInjector().injectSwaggerExamples(jsonFile, format);
+    JsonNode root = format.getMapper().readTree(jsonFile);
+    normalAssertions(root, format.getMapper());
+    assertEquals(
+        FileUtils.readFileToString(inMemoryFile, "UTF-8"),
+        FileUtils.readFileToString(jsonFile, "UTF-8"));
+  }
+
+  /**
+   * Test the streaming YAML flow.
+   *
+   * <p>Assert that the output matches the in-memory flow.
+   */
+  @Test
+  public void testStreamingYaml() throws Exception {
+    Format format = Format.YAML;
+    File inMemoryFile = new File(workingDirectory, "in-memory.yaml");
+    FileUtils.copyFile(yamlFile, inMemoryFile);
+    getExampleInjector().injectSwaggerExamples(inMemoryFile, format);
+    getStreamingExampleInjector().injectSwaggerExamples(yamlFile, format);
+    JsonNode root = format.getMapper().readTree(yamlFile);
+    normalAssertions(root, format.getMapper());
+    assertEquals(format.getMapper().readTree(inMemoryFile), root);
+  }
+
   /**
    * Test handling of an unknown format/mapper.
    *
@@ -1,10 +1,24 @@
 package gov.va.plugin.maven.swagger;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /** Examples used in unit tests. */
 public class Examples {
+  /**
+   * An example list.
+   *
+   * @return an example list of 20 strings.
+   */
+  public static List<String> listExample() {
+    return IntStream.range(0, 20).mapToObj(i -> "item_" + i).collect(Collectors.toList());
+  }
+
   /**
    * A null example.
    *
@@ -34,4 +48,21 @@ public class Examples {
   public static String stringExample() {
     return "string_example";
   }
+
+  /** An example provider that has the period example and records every request for examples. */
+  public static class Provider implements ExampleProvider {
+    /** The keys of each request, in order. */
+    static final List<Set<String>> REQUESTS = new ArrayList<>();
+
+    @Override
+    public Map<String, Object> examples(Set<String> keys) {
+      REQUESTS.add(keys);
+      return keys.contains("period") ? Map.of("period", "provided_example") : Map.of();
+    }
+
+    @Override
+    public Set<String> keys() {
+      return Set.of("period");
+    }
+  }
 }
@@ -0,0 +1,147 @@
+package gov.va.plugin.maven.swagger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.integration.SwaggerConfiguration;
+import io.swagger.v3.oas.models.OpenAPI;
+import java.io.File;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.configuration.DefaultPlexusConfiguration;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+
+/** Tests for GenerateMojo. */
+public class GenerateMojoTest {
+  @TempDir File workingDirectory;
+
+  private GenerateMojo getGenerateMojo() {
+    Build build = new Build();
+    build.setOutputDirectory(new File(workingDirectory, "classes").getAbsolutePath());
+    MavenProject project = new MavenProject();
+    project.setBuild(build);
+    project.setFile(new File(workingDirectory, "pom.xml"));
+    GenerateMojo mojo = Mockito.spy(new GenerateMojo());
+    mojo.setProject(project);
+    mojo.setReadAllResources(true);
+    mojo.setOutputFileName("openapi");
+    mojo.setOutputFormats("JSON,YAML");
+    return mojo;
+  }
+
+  /**
+   * Test the configuration used to generate the document.
+   *
+   * <p>Assert that resources are passed on and that the document to start from is read relative to
+   * the base directory.
+   */
+  @Test
+  public void testConfiguration() throws Exception {
+    FileUtils.copyFile(
+        Paths.get("src", "test", "resources", "openapi.yaml").toFile(),
+        new File(workingDirectory, "src/openapi.yaml"));
+    GenerateMojo mojo = getGenerateMojo();
+    mojo.setResourcePackages(Set.of("my.resources"));
+    mojo.setOpenapiFilePath("src/openapi.yaml");
+    SwaggerConfiguration configuration = mojo.configuration();
+    assertEquals(Set.of("my.resources"), configuration.getResourcePackages());
+    assertEquals(true, configuration.isReadAllResources());
+    assertEquals(
+        "Capability", configuration.getOpenAPI().getPaths().get("/metadata").getGet().getSummary());
+  }
+
+  /**
+   * Test generating a document.
+   *
+   * <p>Assert that each output format is written once, with examples injected.
+   */
+  @Test
+  public void testGenerate() throws Exception {
+    OpenAPI openApi =
+        Json.mapper()
+            .readValue(
+                Paths.get("src", "test", "resources", "openapi.json").toFile(), OpenAPI.class);
+    GenerateMojo mojo = getGenerateMojo();
+    doReturn(openApi).when(mojo).generate(any());
+    mojo.execute();
+    File classes = new File(workingDirectory, "classes");
+    for (Format format : List.of(Format.JSON, Format.YAML)) {
+      File file = new File(classes, "openapi." + format.name().toLowerCase());
+      ObjectMapper mapper = format.getMapper();
+      JsonNode root = mapper.readTree(file);
+      assertEquals(
+          mapper.valueToTree(Examples.objectExample()),
+          root.at("/components/schemas/Quantity/example"));
+      assertEquals(
+          Examples.stringExample(), root.at("/components/schemas/Period/example").asText());
+    }
+  }
+
+  /**
+   * Test generating a document whose examples can not be resolved.
+   *
+   * <p>Assert that every error is reported at once and that no output is written.
+   */
+  @Test
+  public void testResolutionErrors() throws Exception {
+    OpenAPI openApi =
+        Json.mapper()
+            .readValue(
+                Paths.get("src", "test", "resources", "openapi.json").toFile(), OpenAPI.class);
+    GenerateMojo mojo = getGenerateMojo();
+    mojo.setExamples(
+        List.of(
+            example("period", "gov.va.plugin.maven.swagger.Missing#stringExample"),
+            example("quantity", "gov.va.plugin.maven.swagger.Examples#nullExample")));
+    doReturn(openApi).when(mojo).generate(any());
+    String message = assertThrows(MojoExecutionException.class, mojo::execute).getMessage();
+    assertTrue(message.startsWith("2 example(s) could not be resolved:"), message);
+    assertFalse(new File(workingDirectory, "classes/openapi.json").exists());
+  }
+
+  private PlexusConfiguration example(String key, String source) {
+    PlexusConfiguration example = new DefaultPlexusConfiguration("example");
+    example.setAttribute("key", key);
+    example.setAttribute("source", source);
+    return example;
+  }
+
+  /**
+   * Test the output files.
+   *
+   * <p>Assert that each format is written to the output directory by default, and that an
+   * unrecognized format throws a MojoExecutionException.
+   */
+  @Test
+  public void testGeneratedOutputs() throws Exception {
+    GenerateMojo mojo = getGenerateMojo();
+    mojo.setOutputFormats("yaml, smile");
+    File classes = new File(workingDirectory, "classes");
+    assertEquals(
+        Map.of(
+            new File(classes, "openapi.yaml"),
+            Format.YAML,
+            new File(classes, "openapi.smile"),
+            Format.SMILE),
+        mojo.generatedOutputs());
+    mojo.setOutputFormats("JSON,XML");
+    assertThrows(MojoExecutionException.class, mojo::generatedOutputs);
+  }
+}
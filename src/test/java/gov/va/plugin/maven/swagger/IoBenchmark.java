@@ -0,0 +1,96 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import gov.va.plugin.maven.swagger.ExampleInjector.IoStrategy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/** Compares reading and writing a large JSON spec with each {@link IoStrategy}. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class IoBenchmark {
+  /** Number of copies of the test spec's paths, roughly 30 MB by default. */
+  @Param("40000")
+  int copies;
+
+  @Param({"STREAM", "MAPPED"})
+  IoStrategy io;
+
+  private JsonNode root;
+
+  private File input;
+
+  private File output;
+
+  private ObjectMapper mapper;
+
+  /**
+   * Read the spec.
+   *
+   * @return the root of the document.
+   * @throws IOException if the file can not be read.
+   */
+  @Benchmark
+  public JsonNode read() throws IOException {
+    return mapper.readTree(io.input(input));
+  }
+
+  /** Write a large spec to read, and build a large document to write. */
+  @Setup
+  public void setup() throws IOException {
+    mapper = Format.JSON.getMapper();
+    JsonNode template =
+        mapper.readTree(Paths.get("src", "test", "resources", "openapi.json").toFile());
+    ObjectNode paths = (ObjectNode) template.get("paths");
+    JsonNode metadata = paths.get("/metadata");
+    for (int i = 0; i < copies; i++) {
+      paths.set("/metadata/" + i, metadata.deepCopy());
+    }
+    root = template;
+    input = Files.createTempFile("benchmark", ".json").toFile();
+    output = Files.createTempFile("benchmark", ".json").toFile();
+    mapper.writeValue(input, root);
+  }
+
+  /** Delete the files. */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(input.toPath());
+    Files.deleteIfExists(output.toPath());
+  }
+
+  /**
+   * Write the spec.
+   *
+   * @throws IOException if the file can not be written.
+   */
+  @Benchmark
+  public void write() throws IOException {
+    try (JsonGenerator generator = Format.JSON.createGenerator(mapper, io.output(output))) {
+      mapper.writeTree(generator, root);
+    }
+  }
+}
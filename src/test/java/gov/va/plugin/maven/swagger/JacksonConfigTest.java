@@ -5,7 +5,12 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Supplier;
+import java.util.stream.Stream;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -50,6 +55,30 @@ public class JacksonConfigTest {
     assertEquals("{\"ya\":\"spaces\",\"ml\":1}", mapper.writeValueAsString(in));
   }
 
+  @Test
+  @SneakyThrows
+  public void supportsJavaTimeAndOptionals() {
+    ObjectMapper mapper = JacksonConfig.createMapper();
+    Dated in =
+        Dated.builder()
+            .day(LocalDate.of(2020, 1, 2))
+            .at(Instant.ofEpochSecond(1))
+            .note(Optional.of("note"))
+            .byDay(Map.of(LocalDate.of(2020, 1, 3), "next"))
+            .build();
+    assertEquals(in, mapper.readValue(mapper.writeValueAsString(in), Dated.class));
+    assertEquals("[1,2]", mapper.writeValueAsString(Stream.of(1, 2)));
+  }
+
+  @Value
+  @Builder
+  public static class Dated {
+    LocalDate day;
+    Instant at;
+    Optional<String> note;
+    Map<LocalDate, String> byDay;
+  }
+
   @Value
   @Builder
   public static class CandyYaml {
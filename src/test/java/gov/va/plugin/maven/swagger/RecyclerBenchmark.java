@@ -0,0 +1,111 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.management.ThreadMXBean;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compares Jackson's per-thread buffer recyclers (as previously used) against the {@link
+ * RecyclerPool}, when work runs on short-lived threads like the aggregate and watch goals. The
+ * allocation of those threads is reported by the {@link Allocation} counters, since <code>-prof gc
+ * </code> only measures the benchmark thread.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RecyclerBenchmark {
+  /** Examples converted and documents read on each thread. */
+  @Param("20")
+  int work;
+
+  @Param({"false", "true"})
+  boolean pooled;
+
+  private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private ObjectMapper mapper;
+
+  private byte[] document;
+
+  private List<String> example;
+
+  /**
+   * Convert examples and read documents on a new thread.
+   *
+   * @param blackhole Consumes the results.
+   * @throws InterruptedException if interrupted while waiting for the thread.
+   */
+  @Benchmark
+  public void newThread(Blackhole blackhole, Allocation allocation) throws InterruptedException {
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                for (int i = 0; i < work; i++) {
+                  blackhole.consume(mapper.writeValueAsString(example));
+                  blackhole.consume(mapper.readTree(document));
+                }
+                allocation.record(THREADS.getCurrentThreadAllocatedBytes());
+              } catch (IOException e) {
+                throw new UncheckedIOException(e);
+              }
+            });
+    thread.start();
+    thread.join();
+  }
+
+  /** Load the test spec and example. */
+  @Setup
+  public void setup() throws IOException {
+    mapper = pooled ? Format.JSON.getMapper() : JacksonConfig.createMapper();
+    document = Files.readAllBytes(Paths.get("src", "test", "resources", "openapi.json"));
+    example = Examples.listExample();
+  }
+
+  /** Bytes allocated by the threads of an iteration. */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Allocation {
+    /** Total bytes allocated. */
+    public long allocatedBytes;
+
+    /** Threads run. */
+    public long threads;
+
+    synchronized void record(long bytes) {
+      allocatedBytes += bytes;
+      threads++;
+    }
+
+    /** Reset the counters. */
+    @Setup(Level.Iteration)
+    public void reset() {
+      allocatedBytes = 0;
+      threads = 0;
+    }
+  }
+}
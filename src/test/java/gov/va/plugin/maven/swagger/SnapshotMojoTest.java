@@ -0,0 +1,73 @@
+package gov.va.plugin.maven.swagger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.File;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.model.Build;
+import org.apache.maven.project.MavenProject;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for SnapshotMojo. */
+public class SnapshotMojoTest {
+  private static final ObjectMapper MAPPER = Format.JSON.getMapper();
+
+  @TempDir File outputDirectory;
+
+  private SnapshotMojo mojo;
+
+  /** Before each test, copy the compiled test examples to a temporary output directory. */
+  @BeforeEach
+  public void setup() throws Exception {
+    File classes =
+        new File(Examples.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+    String path = Examples.class.getName().replace('.', '/');
+    FileUtils.copyFile(
+        new File(classes, path + ".class"), new File(outputDirectory, path + ".class"));
+    FileUtils.copyFile(
+        new File(classes, path + ".class"), new File(outputDirectory, path + "Helper.class"));
+    Build build = new Build();
+    build.setOutputDirectory(outputDirectory.getAbsolutePath());
+    MavenProject project = new MavenProject();
+    project.setBuild(build);
+    mojo = new SnapshotMojo();
+    mojo.setProject(project);
+  }
+
+  /**
+   * Test the default includes.
+   *
+   * <p>Assert that only classes named like examples are selected.
+   */
+  @Test
+  public void testClassNames() {
+    assertEquals(List.of(Examples.class.getName()), mojo.classNames(outputDirectory));
+    mojo.setIncludes(List.of("**/*.class"));
+    mojo.setExcludes(List.of("**/*Helper.class"));
+    assertEquals(List.of(Examples.class.getName()), mojo.classNames(outputDirectory));
+  }
+
+  /**
+   * Test a snapshot of the test examples.
+   *
+   * <p>Assert that every non-null example is written to the class's snapshot.
+   */
+  @Test
+  public void testSnapshot() throws Exception {
+    mojo.execute();
+    JsonNode snapshot =
+        MAPPER.readTree(
+            new File(outputDirectory, ExampleInjector.snapshotResource(Examples.class.getName())));
+    assertEquals(MAPPER.valueToTree(Examples.objectExample()), snapshot.get("objectExample"));
+    assertEquals(Examples.stringExample(), snapshot.get("stringExample").asText());
+    assertFalse(snapshot.has("nullExample"));
+    assertEquals(3, snapshot.size());
+  }
+}
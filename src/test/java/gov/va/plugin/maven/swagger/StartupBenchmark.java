@@ -0,0 +1,69 @@
+package gov.va.plugin.maven.swagger;
+
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.TimeUnit;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the first injection in a fresh JVM, which on small modules is mostly class loading and
+ * initialization. Each fork injects once, so the result is the cold cost of the plugin's classes,
+ * Jackson and the format's stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(10)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+public class StartupBenchmark {
+  /** The format, by name, so that no plugin class is loaded before the benchmark. */
+  @Param({"JSON", "YAML"})
+  String format;
+
+  private File file;
+
+  /**
+   * Inject examples into the test spec.
+   *
+   * @throws MojoExecutionException if the examples can not be injected.
+   */
+  @Benchmark
+  public void firstInjection() throws MojoExecutionException {
+    new ExampleInjector(StartupBenchmark.class.getClassLoader(), null)
+        .injectSwaggerExamples(file, Format.lookup(format));
+  }
+
+  /** Copy the test spec without loading any of the plugin's classes. */
+  @Setup
+  public void setup() throws IOException {
+    String name = "openapi." + format.toLowerCase();
+    file = Files.createTempFile("benchmark", name).toFile();
+    Files.copy(
+        Paths.get("src", "test", "resources", name),
+        file.toPath(),
+        StandardCopyOption.REPLACE_EXISTING);
+  }
+
+  /** Delete the file. */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file.toPath());
+  }
+}
@@ -3,26 +3,36 @@ package gov.va.plugin.maven.swagger;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import gov.va.plugin.maven.swagger.ExampleInjector.Format;
 import java.io.File;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import org.apache.commons.io.FileUtils;
 import org.apache.maven.model.Build;
+import org.apache.maven.model.FileSet;
 import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.project.MavenProject;
 import org.codehaus.plexus.configuration.DefaultPlexusConfiguration;
 import org.codehaus.plexus.configuration.PlexusConfiguration;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mockito;
 
 /** Tests for SwaggerMojo. */
 public class SwaggerMojoTest {
   private static final String OUTPUT_DIRECTORY = "/path/to/output";
 
+  @TempDir File workingDirectory;
+
   private SwaggerMojo getSwaggerMojo() {
     Build build = new Build();
     build.setOutputDirectory(OUTPUT_DIRECTORY);
@@ -69,6 +79,41 @@ public class SwaggerMojoTest {
     assertThrows(MojoExecutionException.class, mojo::execute);
   }
 
+  /**
+   * Test examples with targets.
+   *
+   * <p>Assert that an example may be configured with more than one target, and that examples
+   * without a target are only overrides.
+   *
+   * <p>Assert that invalid or repeated targets, and an example with more than one source, throw a
+   * MojoExecutionException.
+   */
+  @Test
+  public void testExampleTargets() throws Exception {
+    PlexusConfiguration first = example("key", "package.Class#method", "/paths/~1a/example");
+    PlexusConfiguration second = example("key", "package.Class#method", "/paths/~1b/example");
+    PlexusConfiguration other = example("other", "package.Class#other", null);
+    SwaggerMojo mojo = getSwaggerMojo();
+    mojo.setFiles(List.of());
+    mojo.setExamples(List.of(first, second, other));
+    mojo.validate();
+    assertEquals(
+        Map.of("key", "package.Class#method", "other", "package.Class#other"), mojo.overrides());
+    InjectionPlan plan = mojo.plan();
+    assertEquals(2, plan.getTargets().size());
+    assertEquals("/paths/~1b", plan.getTargets().get(1).getParent().toString());
+    assertEquals("example", plan.getTargets().get(1).getName());
+    for (List<PlexusConfiguration> invalid :
+        List.of(
+            List.of(example("key", "package.Class#method", "paths")),
+            List.of(example("key", "package", "/paths/~1a/example")),
+            List.of(first, first),
+            List.of(first, example("key", "package.Class#different", null)))) {
+      mojo.setExamples(invalid);
+      assertThrows(MojoExecutionException.class, mojo::validate);
+    }
+  }
+
   /**
    * Test with a blank file.
    *
@@ -83,6 +128,16 @@ public class SwaggerMojoTest {
     assertThrows(MojoExecutionException.class, mojo::execute);
   }
 
+  private PlexusConfiguration example(String key, String source, String target) {
+    PlexusConfiguration example = new DefaultPlexusConfiguration("example");
+    example.setAttribute("key", key);
+    example.setAttribute("source", source);
+    if (target != null) {
+      example.setAttribute("target", target);
+    }
+    return example;
+  }
+
   /**
    * Test returning a custom list of files.
    *
@@ -113,6 +168,87 @@ public class SwaggerMojoTest {
     assertEquals(configFiles.size(), files.size());
   }
 
+  /**
+   * Test returning files matched by a file set.
+   *
+   * <p>Assert that included files are present with an inferred format, in path order.
+   *
+   * <p>Assert that excluded files and files with an unrecognized format are not present.
+   */
+  @Test
+  public void testFileSets() throws Exception {
+    for (String name :
+        List.of(
+            "specs/b/openapi-two.yaml",
+            "specs/a/openapi-one.json",
+            "specs/openapi-skip.json",
+            "specs/openapi-three.txt")) {
+      File file = new File(workingDirectory, name);
+      file.getParentFile().mkdirs();
+      file.createNewFile();
+    }
+    FileSet fileSet = new FileSet();
+    fileSet.setDirectory(workingDirectory.getAbsolutePath());
+    fileSet.addInclude("specs/**/openapi-*");
+    fileSet.addExclude("**/*-skip.*");
+    SwaggerMojo mojo = getSwaggerMojo();
+    mojo.setFiles(Collections.emptyList());
+    mojo.setFileSets(List.of(fileSet));
+    Map<File, Format> files = mojo.files();
+    assertEquals(
+        List.of(
+            new File(workingDirectory, "specs/a/openapi-one.json"),
+            new File(workingDirectory, "specs/b/openapi-two.yaml")),
+        List.copyOf(files.keySet()));
+    assertEquals(List.of(Format.JSON, Format.YAML), List.copyOf(files.values()));
+  }
+
+  /**
+   * Test a diff report of file set files with the same name in different directories.
+   *
+   * <p>Assert that each file is compared with its own baseline and reported by its path relative to
+   * the file set's directory.
+   */
+  @Test
+  public void testDiffReportSameNames() throws Exception {
+    ObjectMapper mapper = Format.JSON.getMapper();
+    File specs = new File(workingDirectory, "specs");
+    File baseline = new File(workingDirectory, "baseline");
+    for (String version : List.of("v0", "v1")) {
+      File file = new File(specs, version + "/openapi.json");
+      FileUtils.copyFile(Paths.get("src", "test", "resources", "openapi.json").toFile(), file);
+      ObjectNode document = (ObjectNode) mapper.readTree(file);
+      ((ObjectNode) document.at("/components/schemas")).putObject("Removed" + version);
+      File baselineFile = new File(baseline, version + "/openapi.json");
+      baselineFile.getParentFile().mkdirs();
+      mapper.writeValue(baselineFile, document);
+    }
+    FileSet fileSet = new FileSet();
+    fileSet.setDirectory(specs.getAbsolutePath());
+    fileSet.addInclude("**/openapi.json");
+    SwaggerMojo mojo = getSwaggerMojo();
+    mojo.setFiles(Collections.emptyList());
+    mojo.setFileSets(List.of(fileSet));
+    mojo.setExamples(Collections.emptyList());
+    mojo.setDiffBaseline(baseline);
+    File report = new File(workingDirectory, "diff.json");
+    mojo.setDiffReport(report);
+    mojo.execute();
+    JsonNode documents = mapper.readTree(report);
+    assertEquals(List.of("v0/openapi.json", "v1/openapi.json"), fieldNames(documents));
+    for (String version : List.of("v0", "v1")) {
+      assertEquals(
+          mapper.createArrayNode().add("Removed" + version),
+          documents.get(version + "/openapi.json").at("/schemas/removed"));
+    }
+  }
+
+  private static List<String> fieldNames(JsonNode node) {
+    List<String> names = new ArrayList<>();
+    node.fieldNames().forEachRemaining(names::add);
+    return names;
+  }
+
   /**
    * Test returning the default list of files.
    *
@@ -177,6 +313,8 @@ public class SwaggerMojoTest {
     mojo.execute();
     Mockito.verify(exampleInjector)
         .injectSwaggerExamples(
+            Mockito.argThat(f -> f.equals(new File(file.getAttribute("file")))),
+            Mockito.argThat(Objects::isNull),
             Mockito.argThat(f -> f.equals(new File(file.getAttribute("file")))),
             Mockito.argThat(Objects::isNull));
   }
@@ -202,10 +340,37 @@ public class SwaggerMojoTest {
     mojo.execute();
     Mockito.verify(exampleInjector)
         .injectSwaggerExamples(
+            Mockito.argThat(fileArg -> fileArg.equals(new File(file.getAttribute("file")))),
+            Mockito.argThat(formatArg -> formatArg == Format.JSON),
             Mockito.argThat(fileArg -> fileArg.equals(new File(file.getAttribute("file")))),
             Mockito.argThat(formatArg -> formatArg == Format.JSON));
   }
 
+  /**
+   * Test a flow with a separate output file.
+   *
+   * <p>Assert that the mock object is called with the configured output and format.
+   */
+  @Test
+  public void testNormalFlowOutput() throws Exception {
+    ExampleInjector exampleInjector = Mockito.mock(ExampleInjector.class);
+    PlexusConfiguration file = new DefaultPlexusConfiguration("file");
+    file.setAttribute("file", "/path/to/file.json");
+    file.setAttribute("output", "/path/to/file.bin");
+    file.setAttribute("outputFormat", "SMILE");
+    SwaggerMojo mojo = getSwaggerMojo();
+    mojo.setFiles(List.of(file));
+    mojo.setExamples(Collections.emptyList());
+    mojo.setExampleInjector(exampleInjector);
+    mojo.execute();
+    Mockito.verify(exampleInjector)
+        .injectSwaggerExamples(
+            Mockito.argThat(fileArg -> fileArg.equals(new File(file.getAttribute("file")))),
+            Mockito.argThat(Objects::isNull),
+            Mockito.argThat(fileArg -> fileArg.equals(new File(file.getAttribute("output")))),
+            Mockito.argThat(formatArg -> formatArg == Format.SMILE));
+  }
+
   /**
    * Test a normal YAML flow.
    *
@@ -227,6 +392,8 @@ public class SwaggerMojoTest {
     mojo.execute();
     Mockito.verify(exampleInjector)
         .injectSwaggerExamples(
+            Mockito.argThat(fileArg -> fileArg.equals(new File(file.getAttribute("file")))),
+            Mockito.argThat(formatArg -> formatArg == Format.YAML),
             Mockito.argThat(fileArg -> fileArg.equals(new File(file.getAttribute("file")))),
             Mockito.argThat(formatArg -> formatArg == Format.YAML));
   }
@@ -0,0 +1,189 @@
+package gov.va.plugin.maven.swagger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.commons.io.FileUtils;
+import org.apache.maven.model.Build;
+import org.apache.maven.plugin.MojoExecutionException;
+import org.apache.maven.plugin.MojoFailureException;
+import org.apache.maven.project.MavenProject;
+import org.codehaus.plexus.configuration.DefaultPlexusConfiguration;
+import org.codehaus.plexus.configuration.PlexusConfiguration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/** Tests for WatchMojo. */
+public class WatchMojoTest {
+  private static final Path TEST_RESOURCES = Paths.get("src", "test", "resources");
+
+  private static final ObjectMapper MAPPER = Format.JSON.getMapper();
+
+  @TempDir File outputDirectory;
+
+  private File jsonFile;
+
+  private MavenProject project;
+
+  private WatchMojo mojo;
+
+  private static String periodExample(File file) throws IOException {
+    return MAPPER
+        .readTree(file)
+        .get("components")
+        .get("schemas")
+        .get("Period")
+        .get("example")
+        .asText();
+  }
+
+  /** Before each test, copy the input file to a temporary output directory and start watching. */
+  @BeforeEach
+  public void setup() throws Exception {
+    jsonFile = new File(outputDirectory, "openapi.json");
+    FileUtils.copyFile(TEST_RESOURCES.resolve("openapi.json").toFile(), jsonFile);
+    Build build = new Build();
+    build.setOutputDirectory(outputDirectory.getAbsolutePath());
+    project = new MavenProject();
+    project.setBuild(build);
+    PlexusConfiguration file = new DefaultPlexusConfiguration("file");
+    file.setAttribute("file", jsonFile.getAbsolutePath());
+    mojo = new WatchMojo();
+    mojo.setProject(project);
+    mojo.setFiles(List.of(file));
+    mojo.setExamples(Collections.emptyList());
+    mojo.start();
+  }
+
+  /**
+   * Test a change to the output directory.
+   *
+   * <p>Assert that examples are injected again from the original content, not the file on disk.
+   */
+  @Test
+  public void testClassChange() throws Exception {
+    FileUtils.writeStringToFile(jsonFile, "{}", "UTF-8");
+    mojo.onChange(Set.of(outputDirectory.toPath().resolve("Example.class")));
+    assertEquals(Examples.stringExample(), periodExample(jsonFile));
+  }
+
+  /**
+   * Test the class loaders of the output directory.
+   *
+   * <p>Assert that the previous class loader is closed when the class path is reloaded, and that
+   * the current one is closed when watching stops.
+   */
+  @Test
+  public void testClassLoadersClosed() throws Exception {
+    FileUtils.writeStringToFile(new File(outputDirectory, "marker.txt"), "marker", "UTF-8");
+    List<ClassLoader> loaders = new CopyOnWriteArrayList<>();
+    PlexusConfiguration file = new DefaultPlexusConfiguration("file");
+    file.setAttribute("file", jsonFile.getAbsolutePath());
+    WatchMojo watching =
+        new WatchMojo() {
+          @Override
+          ClassLoader getClasspath() throws MojoFailureException {
+            ClassLoader loader = super.getClasspath();
+            loaders.add(loader);
+            return loader;
+          }
+        };
+    watching.setProject(project);
+    watching.setFiles(List.of(file));
+    watching.start();
+    watching.onChange(Set.of(outputDirectory.toPath().resolve("Example.class")));
+    assertEquals(2, loaders.size());
+    assertNull(loaders.get(0).getResource("marker.txt"));
+    assertNotNull(loaders.get(1).getResource("marker.txt"));
+    Thread thread =
+        new Thread(
+            () -> {
+              try {
+                watching.execute();
+              } catch (MojoExecutionException | MojoFailureException e) {
+                throw new IllegalStateException(e);
+              }
+            });
+    thread.start();
+    while (loaders.size() < 3) {
+      Thread.sleep(10);
+    }
+    thread.interrupt();
+    thread.join(10000);
+    assertFalse(thread.isAlive());
+    assertNull(loaders.get(2).getResource("marker.txt"));
+  }
+
+  /**
+   * Test a change to a watched file.
+   *
+   * <p>Assert that the new content is read and examples are injected into it.
+   */
+  @Test
+  public void testFileChange() throws Exception {
+    String changed =
+        FileUtils.readFileToString(TEST_RESOURCES.resolve("openapi.json").toFile(), "UTF-8")
+            .replace("Urgent Care Eligibility", "Changed");
+    FileUtils.writeStringToFile(jsonFile, changed, "UTF-8");
+    Files.setLastModifiedTime(
+        jsonFile.toPath(), FileTime.fromMillis(System.currentTimeMillis() + 10000));
+    mojo.onChange(Set.of(jsonFile.toPath().toAbsolutePath()));
+    JsonNode root = MAPPER.readTree(jsonFile);
+    assertEquals("Changed", root.get("info").get("title").asText());
+    assertEquals(Examples.stringExample(), periodExample(jsonFile));
+  }
+
+  /**
+   * Test a file with an output.
+   *
+   * <p>Assert that examples are written to the output, leaving the watched file as is, including
+   * after a class changes.
+   */
+  @Test
+  public void testOutput() throws Exception {
+    File input = new File(outputDirectory, "input/openapi.json");
+    FileUtils.copyFile(TEST_RESOURCES.resolve("openapi.json").toFile(), input);
+    String original = FileUtils.readFileToString(input, "UTF-8");
+    File output = new File(outputDirectory, "output/openapi.json");
+    PlexusConfiguration file = new DefaultPlexusConfiguration("file");
+    file.setAttribute("file", input.getAbsolutePath());
+    file.setAttribute("output", output.getAbsolutePath());
+    WatchMojo watching = new WatchMojo();
+    watching.setProject(project);
+    watching.setFiles(List.of(file));
+    watching.setExamples(Collections.emptyList());
+    watching.start();
+    assertEquals(Examples.stringExample(), periodExample(output));
+    assertEquals(original, FileUtils.readFileToString(input, "UTF-8"));
+    watching.onChange(Set.of(output.toPath().toAbsolutePath()));
+    watching.onChange(Set.of(outputDirectory.toPath().resolve("Example.class")));
+    assertEquals(Examples.stringExample(), periodExample(output));
+    assertEquals(original, FileUtils.readFileToString(input, "UTF-8"));
+  }
+
+  /**
+   * Test the initial injection.
+   *
+   * <p>Assert that examples are injected before watching starts.
+   */
+  @Test
+  public void testStart() throws Exception {
+    assertEquals(Examples.stringExample(), periodExample(jsonFile));
+  }
+}
@@ -0,0 +1,100 @@
+package gov.va.plugin.maven.swagger;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+import gov.va.plugin.maven.swagger.ExampleInjector.Format;
+import gov.va.plugin.maven.swagger.ExampleInjector.IoStrategy;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares writing a large spec with a default YAML mapper (as previously used) against {@link
+ * Format#YAML} in the minimal style.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class YamlWriteBenchmark {
+  /** Number of copies of the test spec's paths. */
+  @Param("2000")
+  int copies;
+
+  private JsonNode root;
+
+  private File file;
+
+  private ObjectMapper defaultMapper;
+
+  private ObjectMapper tunedMapper;
+
+  /**
+   * Write using a default YAML mapper and pretty printer.
+   *
+   * @throws IOException if the file can not be written.
+   */
+  @Benchmark
+  public void defaultYaml() throws IOException {
+    defaultMapper.writerWithDefaultPrettyPrinter().writeValue(file, root);
+  }
+
+  /** Build a large document from the test spec. */
+  @Setup
+  public void setup() throws IOException {
+    defaultMapper = JacksonConfig.createMapper(new YAMLFactory());
+    tunedMapper = ExampleInjector.minimalYamlMapper();
+    JsonNode template =
+        Format.JSON
+            .getMapper()
+            .readTree(Paths.get("src", "test", "resources", "openapi.json").toFile());
+    ObjectNode paths = (ObjectNode) template.get("paths");
+    JsonNode metadata = paths.get("/metadata");
+    for (int i = 0; i < copies; i++) {
+      ObjectNode copy = metadata.deepCopy();
+      ((ObjectNode) copy.get("get"))
+          .put("description", "Line one of a description " + i + "\nLine two\nLine three");
+      paths.set("/metadata/" + i, copy);
+    }
+    root = template;
+    file = Files.createTempFile("benchmark", ".yaml").toFile();
+  }
+
+  /** Delete the output file. */
+  @TearDown
+  public void tearDown() throws IOException {
+    Files.deleteIfExists(file.toPath());
+  }
+
+  /**
+   * Write using {@link Format#YAML} in the minimal style.
+   *
+   * @throws IOException if the file can not be written.
+   */
+  @Benchmark
+  public void tunedYaml() throws IOException {
+    try (JsonGenerator generator =
+        Format.YAML.createGenerator(tunedMapper, IoStrategy.STREAM.output(file))) {
+      tunedMapper.writeTree(generator, root);
+    }
+  }
+}